@@ -0,0 +1,75 @@
+package org.asdfgamer.utils.config;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * This measures how long changing a Setting takes, if the given number of slow listeners is informed. Every listener
+ * needs 50 microseconds, like a listener that rebuilds a cache. The listeners get informed directly or by an
+ * {@link AsyncSettingChangeListener} with coalesced changes, which all share one thread. Without coalescing the
+ * changes would pile up, because the Setting changes faster than the listeners can handle them.
+ *
+ * @author ASDFGamer
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AsyncListenerBenchmark
+{
+
+    public static final Setting benchSetting = Settings.newSetting(0);
+
+    @Param({"1", "4"})
+    public int listeners;
+
+    @Param({"false", "true"})
+    public boolean async;
+
+    private final SettingChangeListener slowListener = (setting, index, oldValue, newValue) -> LockSupport.parkNanos(50_000);
+
+    private SettingChangeListener[] added;
+
+    private ExecutorService executor;
+
+    private int counter = 0;
+
+    @Setup
+    public void setup()
+    {
+
+        BenchmarkSupport.quietLogging();
+        executor = Executors.newSingleThreadExecutor();
+        added = new SettingChangeListener[listeners];
+        for (int i = 0; i < listeners; i++)
+        {
+            added[i] = async ? new AsyncSettingChangeListener(slowListener, executor, true) : slowListener;
+            benchSetting.addListener(added[i]);
+        }
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+
+        for (SettingChangeListener listener : added)
+        {
+            benchSetting.removeListener(listener);
+        }
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public Setting setInteger()
+    {
+
+        benchSetting.setInteger(counter++ & 1);
+        return benchSetting;
+    }
+}
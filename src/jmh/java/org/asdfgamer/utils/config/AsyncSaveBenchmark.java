@@ -0,0 +1,113 @@
+package org.asdfgamer.utils.config;
+
+import org.asdfgamer.utils.config.generated.GeneratedSettings;
+import org.asdfgamer.utils.config.internal.SettingUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This compares how many saves per second are possible, if 4 threads change a Setting of a class with 1000 Settings
+ * and save the class after every change. The synchronous storage has to be locked, because it isn't thread safe,
+ * the {@link AsyncSettingsStorage} writes all saves of a window together.
+ *
+ * @author ASDFGamer
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class AsyncSaveBenchmark
+{
+
+    @Param({"1", "10"})
+    public int windowMillis;
+
+    private SettingsStorage synchronous;
+
+    private AsyncSettingsStorage asynchronous;
+
+    private List<Setting> all;
+
+    private final AtomicInteger nextThread = new AtomicInteger();
+
+    @Setup
+    public void setup()
+    {
+
+        BenchmarkSupport.quietLogging();
+        synchronous = new PropertiesFileStorage(BenchmarkSupport.PROGRAM_NAME);
+        asynchronous = new AsyncSettingsStorage(new PropertiesFileStorage(BenchmarkSupport.PROGRAM_NAME + "-async"), windowMillis, TimeUnit.MILLISECONDS);
+        all = new ArrayList<>();
+        for (Class<?> settingsClass : GeneratedSettings.forSize(1000))
+        {
+            all.addAll(SettingUtils.getSettingsFromObject(settingsClass));
+        }
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+
+        asynchronous.close();
+    }
+
+    @Benchmark
+    public boolean synchronousSave(Writer writer)
+    {
+
+        writer.change();
+        synchronized (synchronous)
+        {
+            return synchronous.save(all);
+        }
+    }
+
+    @Benchmark
+    public CompletableFuture<Boolean> asynchronousSave(Writer writer)
+    {
+
+        writer.change();
+        return asynchronous.saveAsync(all);
+    }
+
+    @Benchmark
+    public boolean asynchronousSaveAndWait(Writer writer)
+    {
+
+        writer.change();
+        return asynchronous.save(all);
+    }
+
+    /**
+     * Every thread changes its own integer Setting, so that the threads don't change the same Setting.
+     */
+    @State(Scope.Thread)
+    public static class Writer
+    {
+
+        private Setting setting;
+
+        private int value = 0;
+
+        @Setup
+        public void setup(AsyncSaveBenchmark benchmark)
+        {
+
+            setting = benchmark.all.get(4 * benchmark.nextThread.getAndIncrement());
+        }
+
+        void change()
+        {
+
+            setting.set(++value);
+        }
+    }
+}
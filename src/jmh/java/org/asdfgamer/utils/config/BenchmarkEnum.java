@@ -0,0 +1,37 @@
+package org.asdfgamer.utils.config;
+
+import java.lang.annotation.ElementType;
+
+/**
+ * This Enum contains the Settings that get used in the benchmarks, one for every type.
+ *
+ * @author ASDFGamer
+ */
+public enum BenchmarkEnum
+{
+    benchString("test"),
+    benchInt(1),
+    benchDouble(1.1),
+    benchBoolean(true),
+    benchEnum(ElementType.ANNOTATION_TYPE),
+    benchListString("Dies", "ist", "ein", "test"),
+    benchListInt(1, 2, 3),
+    benchListDouble(1.1, 2.2, 3.3),
+    benchListBoolean(true, false),
+    benchListEnum(ElementType.FIELD, ElementType.METHOD),
+    ;
+
+    private final Setting SETTING;
+
+    BenchmarkEnum(Object... args)
+    {
+
+        SETTING = Settings.newSetting(args);
+    }
+
+    public Setting get()
+    {
+
+        return SETTING;
+    }
+}
@@ -0,0 +1,31 @@
+package org.asdfgamer.utils.config;
+
+import java.lang.annotation.ElementType;
+
+/**
+ * This Class contains the same Settings as {@link BenchmarkEnum}, but as static fields of a normal class.
+ *
+ * @author ASDFGamer
+ */
+public class BenchmarkSettings
+{
+    public static final Setting benchString = Settings.newSetting("test");
+
+    public static final Setting benchInt = Settings.newSetting(1);
+
+    public static final Setting benchDouble = Settings.newSetting(1.1);
+
+    public static final Setting benchBoolean = Settings.newSetting(true);
+
+    public static final Setting benchEnum = Settings.newSetting(ElementType.ANNOTATION_TYPE);
+
+    public static final Setting benchListString = Settings.newSetting(new Object[]{"Dies", "ist", "ein", "test"});
+
+    public static final Setting benchListInt = Settings.newSetting(new Object[]{1, 2, 3});
+
+    public static final Setting benchListDouble = Settings.newSetting(new Object[]{1.1, 2.2, 3.3});
+
+    public static final Setting benchListBoolean = Settings.newSetting(new Object[]{true, false});
+
+    public static final Setting benchListEnum = Settings.newSetting(new Object[]{ElementType.FIELD, ElementType.METHOD});
+}
@@ -0,0 +1,33 @@
+package org.asdfgamer.utils.config;
+
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * This contains helper methods that are used by all benchmarks.
+ *
+ * @author ASDFGamer
+ */
+class BenchmarkSupport
+{
+
+    /**
+     * This is the program name that is used for all files that get written by the benchmarks.
+     */
+    static final String PROGRAM_NAME = "utils-jmh";
+
+    /**
+     * This only lets severe messages through, because otherwise the benchmarks would mostly measure the logging.
+     */
+    static void quietLogging()
+    {
+
+        Logger root = Logger.getLogger("");
+        root.setLevel(Level.SEVERE);
+        for (Handler handler : root.getHandlers())
+        {
+            handler.setLevel(Level.SEVERE);
+        }
+    }
+}
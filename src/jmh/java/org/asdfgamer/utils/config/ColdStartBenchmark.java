@@ -0,0 +1,89 @@
+package org.asdfgamer.utils.config;
+
+import org.asdfgamer.utils.config.gui.SettingProperty;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This measures the first use of the Settings in a new JVM, once only with the core and once with the JavaFX adapter.
+ * Every measurement runs in its own fork, so the time includes loading the classes. The resident memory of the JVM
+ * afterwards is reported as "rssKiB" (only on Linux, otherwise it is 0).
+ *
+ * @author ASDFGamer
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class ColdStartBenchmark
+{
+
+    private static final int SETTINGS = 1_000;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Memory
+    {
+
+        public long rssKiB;
+
+        @Setup(Level.Iteration)
+        public void setup()
+        {
+
+            BenchmarkSupport.quietLogging();
+        }
+
+        @TearDown(Level.Iteration)
+        public void readRss() throws IOException
+        {
+
+            Path status = Paths.get("/proc/self/status");
+            if (!Files.isReadable(status))
+            {
+                return;
+            }
+            for (String line : Files.readAllLines(status))
+            {
+                if (line.startsWith("VmRSS:"))
+                {
+                    rssKiB = Long.parseLong(line.replaceAll("[^0-9]", ""));
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void core(Memory memory, Blackhole blackhole)
+    {
+
+        for (int i = 0; i < SETTINGS; i++)
+        {
+            Setting setting = Settings.newSetting(ColdStartBenchmark.class, i);
+            setting.addListener((changed, index, oldValue, newValue) -> blackhole.consume(newValue));
+            setting.setInteger(i + 1);
+            blackhole.consume(setting.getInt());
+        }
+    }
+
+    @Benchmark
+    public void javaFxAdapter(Memory memory, Blackhole blackhole)
+    {
+
+        for (int i = 0; i < SETTINGS; i++)
+        {
+            Setting setting = Settings.newSetting(ColdStartBenchmark.class, i);
+            SettingProperty property = new SettingProperty(setting);
+            property.addListener((observable, oldValue, newValue) -> blackhole.consume(newValue));
+            setting.setInteger(i + 1);
+            blackhole.consume(property.get());
+        }
+    }
+}
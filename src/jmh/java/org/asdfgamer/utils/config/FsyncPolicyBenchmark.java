@@ -0,0 +1,56 @@
+package org.asdfgamer.utils.config;
+
+import org.asdfgamer.utils.config.generated.GeneratedSettings;
+import org.asdfgamer.utils.config.internal.SettingUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This measures how many saves per second {@link PropertiesFileStorage} can do with every {@link FsyncPolicy}.
+ * The storage saves all Settings every time, even if nothing changed. With 10 Settings one file gets written, with 100k
+ * Settings 100 files.
+ *
+ * @author ASDFGamer
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FsyncPolicyBenchmark
+{
+
+    @Param({"10", "100000"})
+    public int size;
+
+    @Param({"ALWAYS", "BATCHED", "NEVER"})
+    public FsyncPolicy policy;
+
+    private SettingsStorage storage;
+
+    private List<Setting> all;
+
+    @Setup
+    public void setup()
+    {
+
+        BenchmarkSupport.quietLogging();
+        storage = new PropertiesFileStorage(BenchmarkSupport.PROGRAM_NAME, true, true, policy);
+        all = new ArrayList<>(size);
+        for (Class<?> settingsClass : GeneratedSettings.forSize(size))
+        {
+            all.addAll(SettingUtils.getSettingsFromObject(settingsClass));
+        }
+    }
+
+    @Benchmark
+    public boolean save()
+    {
+
+        return storage.save(all);
+    }
+}
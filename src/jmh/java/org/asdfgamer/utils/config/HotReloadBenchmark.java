@@ -0,0 +1,90 @@
+package org.asdfgamer.utils.config;
+
+import org.asdfgamer.utils.config.internal.SettingUtils;
+import org.asdfgamer.utils.other.Utils;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This measures the time from writing the file of {@link BenchmarkSettings} until a listener of the changed Setting
+ * gets informed by the {@link PropertiesFileWatcher}, with the given debounce time in milliseconds.
+ *
+ * @author ASDFGamer
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HotReloadBenchmark
+{
+
+    @Param({"0", "20"})
+    public long debounce;
+
+    private final BlockingQueue<String> changes = new LinkedBlockingQueue<>();
+
+    private final SettingChangeListener listener = (setting, index, oldValue, newValue) -> changes.add(newValue);
+
+    private PropertiesFileWatcher watcher;
+
+    private Path file;
+
+    private String text;
+
+    private int value;
+
+    @Setup
+    public void setup() throws IOException
+    {
+
+        BenchmarkSupport.quietLogging();
+        PropertiesFileStorage storage = new PropertiesFileStorage(BenchmarkSupport.PROGRAM_NAME, true, true);
+        List<Setting> settings = SettingUtils.getSettingsFromObject(BenchmarkSettings.class);
+        BenchmarkSettings.benchInt.setInteger(0);
+        if (!storage.save(settings))
+        {
+            throw new IllegalStateException("The settings for the benchmark couldn't be saved.");
+        }
+        file = Paths.get(Utils.getConfigFolder(BenchmarkSupport.PROGRAM_NAME), "BenchmarkSettings" + SettingsConfig.fileEnding.getSETTING());
+        text = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        BenchmarkSettings.benchInt.addListener(listener);
+        watcher = storage.watch(settings, debounce, TimeUnit.MILLISECONDS);
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+
+        watcher.close();
+        BenchmarkSettings.benchInt.removeListener(listener);
+    }
+
+    @Benchmark
+    public String changeToVisible() throws IOException, InterruptedException
+    {
+
+        String expected = Integer.toString(++value);
+        Files.write(file, text.replace("benchInt=0", "benchInt=" + expected).getBytes(StandardCharsets.UTF_8));
+        String change;
+        do
+        {
+            change = changes.poll(10, TimeUnit.SECONDS);
+            if (change == null)
+            {
+                throw new IllegalStateException("The change wasn't loaded.");
+            }
+        } while (!change.equals(expected));
+        return change;
+    }
+}
@@ -0,0 +1,90 @@
+package org.asdfgamer.utils.config;
+
+import org.asdfgamer.utils.config.generated.GeneratedSettings;
+import org.asdfgamer.utils.config.internal.SettingUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This compares {@link PropertiesFileReader} with {@link java.util.Properties} for the file of the large generated
+ * class. The file gets padded with the given number of megabytes of comments and values that don't belong to a
+ * Setting, like a big hand written or shared config file.
+ *
+ * @author ASDFGamer
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PropertiesFileReaderBenchmark
+{
+
+    @Param({"0", "4"})
+    public int paddingMegabytes;
+
+    private List<Setting> settings;
+
+    private Path file;
+
+    @Setup
+    public void setup() throws IOException
+    {
+
+        BenchmarkSupport.quietLogging();
+        settings = SettingUtils.getSettingsFromObject(GeneratedSettings.largeClass());
+        StringBuilder text = new StringBuilder();
+        for (Setting setting : settings)
+        {
+            text.append("#").append(setting.getInformationText()).append("(standard Value = ").append(setting.getDefaultValue()).append(")\n");
+            text.append(setting.getSettingName()).append("=").append(setting.get()).append("\n\n");
+        }
+        for (int line = 0; text.length() < (paddingMegabytes << 20); line++)
+        {
+            text.append("# This line doesn't belong to a Setting.\nother").append(line).append(" = some value\n\n");
+        }
+        file = Files.createTempFile("PropertiesFileReaderBenchmark", ".cfg");
+        Files.write(file, text.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException
+    {
+
+        Files.delete(file);
+    }
+
+    @Benchmark
+    public String[] reader() throws IOException
+    {
+
+        return PropertiesFileReader.read(file.toString(), settings);
+    }
+
+    @Benchmark
+    public String[] javaUtilProperties() throws IOException
+    {
+
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file))
+        {
+            properties.load(in);
+        }
+        String[] values = new String[settings.size()];
+        int i = 0;
+        for (Setting setting : settings)
+        {
+            values[i++] = properties.getProperty(setting.getSettingName());
+        }
+        return values;
+    }
+}
@@ -0,0 +1,97 @@
+package org.asdfgamer.utils.config;
+
+import org.asdfgamer.utils.config.generated.GeneratedSettings;
+import org.asdfgamer.utils.config.internal.SettingUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This compares {@link PropertiesFileStorage} with one file for every class and {@link SectionedFileStorage} with one
+ * file for all classes. The save benchmarks change one Setting of the first class, so only that class has to be
+ * written.
+ *
+ * @author ASDFGamer
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SectionedFileBenchmark
+{
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private List<List<Setting>> classes;
+
+    private List<Setting> all;
+
+    private Setting changing;
+
+    private int value;
+
+    private SettingsStorage properties;
+
+    private SettingsStorage sectioned;
+
+    @Setup
+    public void setup() throws IOException
+    {
+
+        BenchmarkSupport.quietLogging();
+        properties = new PropertiesFileStorage(BenchmarkSupport.PROGRAM_NAME, false, true, FsyncPolicy.NEVER);
+        SectionedFileStorage sectioned = new SectionedFileStorage(BenchmarkSupport.PROGRAM_NAME, FsyncPolicy.NEVER);
+        Files.deleteIfExists(sectioned.getPath());//only the classes of this size should be in the file
+        this.sectioned = sectioned;
+        classes = new ArrayList<>();
+        all = new ArrayList<>(size);
+        for (Class<?> settingsClass : GeneratedSettings.forSize(size))
+        {
+            List<Setting> settings = SettingUtils.getSettingsFromObject(settingsClass);
+            classes.add(settings);
+            all.addAll(settings);
+        }
+        changing = all.get(0);
+        if (!properties.save(all) || !sectioned.save(all))
+        {
+            throw new IllegalStateException("The settings for the benchmark couldn't be saved.");
+        }
+    }
+
+    @Benchmark
+    public boolean loadPropertiesFiles()
+    {
+
+        return properties.loadAll(classes, 1);
+    }
+
+    @Benchmark
+    public boolean loadSectionedFile()
+    {
+
+        return sectioned.loadAll(classes, 1);
+    }
+
+    @Benchmark
+    public boolean saveOneClassPropertiesFiles()
+    {
+
+        changing.setRaw(Integer.toString(value++), 0);
+        return properties.save(all);
+    }
+
+    @Benchmark
+    public boolean saveOneClassSectionedFile()
+    {
+
+        changing.setRaw(Integer.toString(value++), 0);
+        return sectioned.save(all);
+    }
+}
@@ -0,0 +1,57 @@
+package org.asdfgamer.utils.config;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This measures the reads of a List Setting, while another thread changes the Setting all the time.
+ *
+ * @author ASDFGamer
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Group)
+public class SettingContentionBenchmark
+{
+
+    private int counter = 0;
+
+    @Setup
+    public void setup()
+    {
+
+        BenchmarkSupport.quietLogging();
+    }
+
+    @Benchmark
+    @Group("readWhileWriting")
+    @GroupThreads(3)
+    public Integer read()
+    {
+
+        return BenchmarkEnum.benchListInt.get().getInt(2);
+    }
+
+    @Benchmark
+    @Group("readWhileWriting")
+    @GroupThreads(3)
+    public List<String> readAll()
+    {
+
+        return BenchmarkEnum.benchListInt.get().getStrings();
+    }
+
+    @Benchmark
+    @Group("readWhileWriting")
+    @GroupThreads(1)
+    public boolean write()
+    {
+
+        return BenchmarkEnum.benchListInt.get().setInteger(counter++ & 1, 2);
+    }
+}
@@ -0,0 +1,64 @@
+package org.asdfgamer.utils.config;
+
+import org.asdfgamer.utils.config.generated.GeneratedSettings;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This measures how long it takes to find the names and annotations of all Settings in one class with 5k Settings.
+ * The names are only searched once per Setting, so every measurement runs in its own fork.
+ *
+ * @author ASDFGamer
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(5)
+@State(Scope.Benchmark)
+public class SettingNamingBenchmark
+{
+
+    private List<Setting> settings;
+
+    @Setup(Level.Iteration)
+    public void setup() throws IllegalAccessException
+    {
+
+        BenchmarkSupport.quietLogging();
+        settings = new ArrayList<>();
+        for (Field field : GeneratedSettings.largeClass().getFields())
+        {
+            if (Modifier.isStatic(field.getModifiers()))
+            {
+                settings.add((Setting) field.get(null));
+            }
+        }
+    }
+
+    @Benchmark
+    public void nameAll(Blackhole blackhole)
+    {
+
+        for (Setting setting : settings)
+        {
+            blackhole.consume(setting.getSettingName());
+        }
+    }
+
+    @Benchmark
+    public void annotationAll(Blackhole blackhole)
+    {
+
+        for (Setting setting : settings)
+        {
+            blackhole.consume(setting.getInformationText());
+        }
+    }
+}
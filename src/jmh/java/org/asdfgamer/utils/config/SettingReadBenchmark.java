@@ -0,0 +1,71 @@
+package org.asdfgamer.utils.config;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This measures the typed getters of {@link Setting}.
+ *
+ * @author ASDFGamer
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SettingReadBenchmark
+{
+
+    @Setup
+    public void setup()
+    {
+
+        BenchmarkSupport.quietLogging();
+        // Resolves the lazy enum value once, so that only the reads get measured.
+        BenchmarkEnum.benchEnum.get().getEnum();
+    }
+
+    @Benchmark
+    public String getString()
+    {
+
+        return BenchmarkEnum.benchString.get().get();
+    }
+
+    @Benchmark
+    public Integer getInt()
+    {
+
+        return BenchmarkEnum.benchInt.get().getInt();
+    }
+
+    @Benchmark
+    public Double getDouble()
+    {
+
+        return BenchmarkEnum.benchDouble.get().getDouble();
+    }
+
+    @Benchmark
+    public Boolean getBoolean()
+    {
+
+        return BenchmarkEnum.benchBoolean.get().getBoolean();
+    }
+
+    @Benchmark
+    public Enum<?> getEnum()
+    {
+
+        return BenchmarkEnum.benchEnum.get().getEnum();
+    }
+
+    @Benchmark
+    public Integer getIntFromList()
+    {
+
+        return BenchmarkEnum.benchListInt.get().getInt(2);
+    }
+}
@@ -0,0 +1,114 @@
+package org.asdfgamer.utils.config;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.annotation.ElementType;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This measures the String and the typed setters of {@link Setting}.
+ * Every benchmark alternates between two values, so that every call is a real change.
+ *
+ * @author ASDFGamer
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SettingWriteBenchmark
+{
+
+    private static final String[] STRINGS = {"Hello", "World"};
+
+    private static final String[] INTEGERS = {"1", "2"};
+
+    private static final String[] DOUBLES = {"1.5", "2.5"};
+
+    private static final String[] BOOLEANS = {"true", "false"};
+
+    private static final String[] ENUMS = {"java.lang.annotation.ElementType.FIELD", "java.lang.annotation.ElementType.METHOD"};
+
+    private static final ElementType[] ENUM_VALUES = {ElementType.FIELD, ElementType.METHOD};
+
+    private int counter = 0;
+
+    @Setup
+    public void setup()
+    {
+
+        BenchmarkSupport.quietLogging();
+        BenchmarkEnum.benchEnum.get().getEnum();
+    }
+
+    @Benchmark
+    public void setString()
+    {
+
+        BenchmarkEnum.benchString.get().set(STRINGS[counter++ & 1], 0);
+    }
+
+    @Benchmark
+    public void setIntegerFromString()
+    {
+
+        BenchmarkEnum.benchInt.get().set(INTEGERS[counter++ & 1], 0);
+    }
+
+    @Benchmark
+    public boolean setInteger()
+    {
+
+        return BenchmarkEnum.benchInt.get().setInteger(counter++ & 1, 0);
+    }
+
+    @Benchmark
+    public void setDoubleFromString()
+    {
+
+        BenchmarkEnum.benchDouble.get().set(DOUBLES[counter++ & 1], 0);
+    }
+
+    @Benchmark
+    public boolean setDouble()
+    {
+
+        return BenchmarkEnum.benchDouble.get().setDouble((counter++ & 1) + 0.5, 0);
+    }
+
+    @Benchmark
+    public void setBooleanFromString()
+    {
+
+        BenchmarkEnum.benchBoolean.get().set(BOOLEANS[counter++ & 1], 0);
+    }
+
+    @Benchmark
+    public boolean setBoolean()
+    {
+
+        return BenchmarkEnum.benchBoolean.get().setBoolean((counter++ & 1) == 0, 0);
+    }
+
+    @Benchmark
+    public void setEnumFromString()
+    {
+
+        BenchmarkEnum.benchEnum.get().set(ENUMS[counter++ & 1], 0);
+    }
+
+    @Benchmark
+    public void setEnumWhileLoading()
+    {
+
+        BenchmarkEnum.benchEnum.get().setRaw(ENUMS[counter++ & 1], 0);
+    }
+
+    @Benchmark
+    public boolean setEnum()
+    {
+
+        return BenchmarkEnum.benchEnum.get().setEnum(ENUM_VALUES[counter++ & 1], 0);
+    }
+}
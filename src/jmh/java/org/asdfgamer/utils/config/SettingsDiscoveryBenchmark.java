@@ -0,0 +1,46 @@
+package org.asdfgamer.utils.config;
+
+import org.asdfgamer.utils.config.internal.SettingUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This compares how fast the Settings of an Enum and of a normal class are found.
+ * Both contain the same Settings.
+ *
+ * @author ASDFGamer
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SettingsDiscoveryBenchmark
+{
+
+    @Setup
+    public void setup()
+    {
+
+        BenchmarkSupport.quietLogging();
+        SettingUtils.getSettingsFromObject(BenchmarkEnum.class);
+        SettingUtils.getSettingsFromObject(BenchmarkSettings.class);
+    }
+
+    @Benchmark
+    public List<Setting> enumBacked()
+    {
+
+        return SettingUtils.getSettingsFromObject(BenchmarkEnum.class);
+    }
+
+    @Benchmark
+    public List<Setting> classBacked()
+    {
+
+        return SettingUtils.getSettingsFromObject(BenchmarkSettings.class);
+    }
+}
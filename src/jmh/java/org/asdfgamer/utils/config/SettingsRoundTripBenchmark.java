@@ -0,0 +1,81 @@
+package org.asdfgamer.utils.config;
+
+import org.asdfgamer.utils.config.generated.GeneratedSettings;
+import org.asdfgamer.utils.config.internal.SettingUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This measures {@link Settings#load()}, {@link Settings#load(int)} with 4 threads and
+ * {@link PropertiesFileStorage#save(List)} with the generated setting classes. Every size runs in its own fork, so only the classes of that size are known to {@link SettingClassInfo}.
+ * The storage saves all Settings every time, even if nothing changed.
+ *
+ * @author ASDFGamer
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SettingsRoundTripBenchmark
+{
+
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    private Settings settings;
+
+    private SettingsStorage storage;
+
+    private List<Setting> all;
+
+    @Setup
+    public void setup()
+    {
+
+        BenchmarkSupport.quietLogging();
+        storage = new PropertiesFileStorage(BenchmarkSupport.PROGRAM_NAME, true, true);
+        settings = new Settings(BenchmarkSupport.PROGRAM_NAME, storage);
+        all = new ArrayList<>(size);
+        for (Class<?> settingsClass : GeneratedSettings.forSize(size))
+        {
+            all.addAll(SettingUtils.getSettingsFromObject(settingsClass));
+        }
+        if (!storage.save(all))
+        {
+            throw new IllegalStateException("The settings for the benchmark couldn't be saved.");
+        }
+    }
+
+    @Benchmark
+    public boolean save()
+    {
+
+        return storage.save(all);
+    }
+
+    @Benchmark
+    public boolean load()
+    {
+
+        return settings.load();
+    }
+
+    @Benchmark
+    public boolean loadParallel()
+    {
+
+        return settings.load(4);
+    }
+
+    @Benchmark
+    public boolean roundTrip()
+    {
+
+        return storage.save(all) & settings.load();
+    }
+}
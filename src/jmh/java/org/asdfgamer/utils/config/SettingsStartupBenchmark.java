@@ -0,0 +1,50 @@
+package org.asdfgamer.utils.config;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This measures how long it takes to create 10k Settings, like an Enum with many Settings does at startup.
+ *
+ * @author ASDFGamer
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SettingsStartupBenchmark
+{
+
+    private static final int SETTINGS = 10_000;
+
+    @Setup
+    public void setup()
+    {
+
+        BenchmarkSupport.quietLogging();
+    }
+
+    @Benchmark
+    public void callerFromStack(Blackhole blackhole)
+    {
+
+        for (int i = 0; i < SETTINGS; i++)
+        {
+            blackhole.consume(Settings.newSetting(new Object[]{i}));
+        }
+    }
+
+    @Benchmark
+    public void explicitOwner(Blackhole blackhole)
+    {
+
+        for (int i = 0; i < SETTINGS; i++)
+        {
+            blackhole.consume(Settings.newSetting(SettingsStartupBenchmark.class, i));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package org.asdfgamer.utils.config;
+
+import org.asdfgamer.utils.config.generated.GeneratedSettings;
+import org.asdfgamer.utils.config.internal.SettingUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This compares the first load of the generated setting classes in a new JVM from the properties files and from the
+ * {@link BinarySnapshotStorage}. Every measurement runs in its own fork and the files get written before with other
+ * Settings instances, so the load code isn't warmed up.
+ *
+ * @author ASDFGamer
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+@State(Scope.Benchmark)
+public class SnapshotLoadBenchmark
+{
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private List<List<Setting>> classes;
+
+    private SettingsStorage properties;
+
+    private SettingsStorage snapshot;
+
+    @Setup
+    public void setup()
+    {
+
+        BenchmarkSupport.quietLogging();
+        properties = new PropertiesFileStorage(BenchmarkSupport.PROGRAM_NAME, true, true);
+        snapshot = new BinarySnapshotStorage(BenchmarkSupport.PROGRAM_NAME);
+        classes = new ArrayList<>();
+        List<Setting> all = new ArrayList<>(size);
+        for (Class<?> settingsClass : GeneratedSettings.forSize(size))
+        {
+            List<Setting> settings = SettingUtils.getSettingsFromObject(settingsClass);
+            classes.add(settings);
+            all.addAll(settings);
+        }
+        if (!properties.save(all) || !snapshot.save(all))
+        {
+            throw new IllegalStateException("The settings for the benchmark couldn't be saved.");
+        }
+        properties = new PropertiesFileStorage(BenchmarkSupport.PROGRAM_NAME, true, true);
+        snapshot = new BinarySnapshotStorage(BenchmarkSupport.PROGRAM_NAME);
+    }
+
+    @Benchmark
+    public boolean propertiesFiles()
+    {
+
+        return properties.loadAll(classes, 1);
+    }
+
+    @Benchmark
+    public boolean binarySnapshot()
+    {
+
+        return snapshot.loadAll(classes, 1);
+    }
+}
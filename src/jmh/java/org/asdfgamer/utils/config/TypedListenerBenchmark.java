@@ -0,0 +1,82 @@
+package org.asdfgamer.utils.config;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.annotation.ElementType;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This compares a {@link SettingChangeListener}, that converts the new String value, with the typed listeners of
+ * {@link Setting}. Every benchmark alternates between two values, so that every call is a real change and informs the
+ * listener. Every Setting has only the listener of its benchmark.
+ *
+ * @author ASDFGamer
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TypedListenerBenchmark
+{
+
+    private static final int[] INT_VALUES = {123456789, 987654321};
+
+    private static final ElementType[] ENUM_VALUES = {ElementType.FIELD, ElementType.METHOD};
+
+    public static final Setting stringListenerInt = Settings.newSetting(0);
+
+    public static final Setting intListenerInt = Settings.newSetting(0);
+
+    public static final Setting stringListenerEnum = Settings.newSetting(ElementType.FIELD);
+
+    public static final Setting enumListenerEnum = Settings.newSetting(ElementType.FIELD);
+
+    private int counter = 0;
+
+    private long sum = 0;
+
+    @Setup
+    public void setup()
+    {
+
+        BenchmarkSupport.quietLogging();
+        stringListenerInt.addListener((setting, index, oldValue, newValue) -> sum += Integer.parseInt(newValue) - Integer.parseInt(oldValue));
+        intListenerInt.addIntListener((setting, index, oldValue, newValue) -> sum += newValue - oldValue);
+        stringListenerEnum.addListener((setting, index, oldValue, newValue) -> sum += setting.getEnum().ordinal());
+        enumListenerEnum.addEnumListener(ElementType.class, (setting, index, oldValue, newValue) -> sum += newValue.ordinal());
+    }
+
+    @Benchmark
+    public long setIntegerWithStringListener()
+    {
+
+        stringListenerInt.setInteger(INT_VALUES[counter++ & 1], 0);
+        return sum;
+    }
+
+    @Benchmark
+    public long setIntegerWithIntListener()
+    {
+
+        intListenerInt.setInteger(INT_VALUES[counter++ & 1], 0);
+        return sum;
+    }
+
+    @Benchmark
+    public long setEnumWithStringListener()
+    {
+
+        stringListenerEnum.setEnum(ENUM_VALUES[counter++ & 1]);
+        return sum;
+    }
+
+    @Benchmark
+    public long setEnumWithEnumListener()
+    {
+
+        enumListenerEnum.setEnum(ENUM_VALUES[counter++ & 1]);
+        return sum;
+    }
+}
@@ -0,0 +1,255 @@
+package org.asdfgamer.utils.config;
+
+import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static java.util.logging.Logger.getLogger;
+import static org.asdfgamer.utils.config.internal.SettingUtils.bundle;
+
+/**
+ * This SettingChangeListener informs another listener with the given Executor, so that a slow listener doesn't block
+ * the thread that changes the Setting. It gets added like every other listener:
+ * <pre>
+ * setting.addListener(new AsyncSettingChangeListener(listener, executor, true));
+ * </pre>
+ * The changes get delivered in the order in which they happened and never at the same time, even if the Executor has
+ * many threads. If the changes get coalesced, the listener only gets the latest value of every Setting and index that
+ * changed since it was informed the last time, with the value that it got the last time as old value. The latest value
+ * gets read from the Setting when the change is delivered, because two threads that change the same Setting can inform
+ * its listeners in another order than the changes happened.
+ *
+ * @author ASDFGamer
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public class AsyncSettingChangeListener implements SettingChangeListener
+{
+
+    /**
+     * The used Logger.
+     */
+    private final static Logger LOG = getLogger(AsyncSettingChangeListener.class.getName());
+
+    /**
+     * This is the listener that gets informed by the Executor.
+     */
+    private final SettingChangeListener LISTENER;
+
+    /**
+     * This is the Executor that informs {@link #LISTENER}.
+     */
+    private final Executor EXECUTOR;
+
+    /**
+     * This shows if only the latest value of a Setting and index gets delivered.
+     */
+    private final boolean COALESCE;
+
+    /**
+     * This delivers the pending changes, it gets given to the Executor.
+     */
+    private final Runnable delivery = this::deliver;
+
+    /**
+     * This are the changes that weren't delivered yet. If the changes get coalesced, every Setting and index is only
+     * once in the Map. This is guarded by itself.
+     */
+    private final Map<Change, Change> pending = new LinkedHashMap<>();
+
+    /**
+     * This shows if {@link #delivery} was given to the Executor and didn't finish yet. This is guarded by
+     * {@link #pending}.
+     */
+    private boolean scheduled = false;
+
+    /**
+     * This is the number of changes that weren't delivered, because a later change of the same value replaced them.
+     */
+    private long coalescedChanges = 0;
+
+    /**
+     * This creates a new listener, that informs the given listener with the Executor.
+     *
+     * @param listener The listener that should be informed.
+     * @param executor The Executor that informs the listener.
+     * @param coalesce If this is true, only the latest value of every Setting and index gets delivered.
+     */
+    public AsyncSettingChangeListener(SettingChangeListener listener, Executor executor, boolean coalesce)
+    {
+
+        this.LISTENER = Objects.requireNonNull(listener);
+        this.EXECUTOR = Objects.requireNonNull(executor);
+        this.COALESCE = coalesce;
+    }
+
+    /**
+     * This notes the change and lets the Executor deliver it, if it isn't delivering changes already.
+     *
+     * @param setting  The Setting with the changed value.
+     * @param index    The index of the changed value.
+     * @param oldValue The value before the change or null, if the value was added.
+     * @param newValue The new value.
+     */
+    @Override
+    public void changed(Setting setting, int index, String oldValue, String newValue)
+    {
+
+        boolean schedule;
+        synchronized (pending)
+        {
+            Change change = new Change(setting, index, oldValue, newValue, COALESCE);
+            Change earlier = COALESCE ? pending.get(change) : null;
+            if (earlier != null)
+            {
+                earlier.newValue = newValue;
+                coalescedChanges++;
+            } else
+            {
+                pending.put(change, change);
+            }
+            schedule = !scheduled;
+            scheduled = true;
+        }
+        if (schedule)
+        {
+            try
+            {
+                EXECUTOR.execute(delivery);
+            } catch (RejectedExecutionException e)
+            {
+                LOG.log(Level.WARNING, bundle.getString("listenerFailed"), e);
+                synchronized (pending)
+                {
+                    scheduled = false;
+                }
+            }
+        }
+    }
+
+    /**
+     * This returns the number of changes that weren't delivered, because a later change of the same value replaced
+     * them.
+     *
+     * @return The number of coalesced changes.
+     */
+    public long getCoalescedChanges()
+    {
+
+        synchronized (pending)
+        {
+            return coalescedChanges;
+        }
+    }
+
+    /**
+     * This delivers all pending changes in their order, until there are no more changes. If an Error ends the delivery,
+     * the next change starts a new one.
+     */
+    private void deliver()
+    {
+
+        boolean done = false;
+        try
+        {
+            while (true)
+            {
+                List<Change> changes;
+                synchronized (pending)
+                {
+                    if (pending.isEmpty())
+                    {
+                        scheduled = false;
+                        done = true;
+                        return;
+                    }
+                    changes = new ArrayList<>(pending.keySet());
+                    pending.clear();
+                }
+                for (Change change : changes)
+                {
+                    String newValue = COALESCE ? change.getCurrentValue() : change.newValue;
+                    if (Objects.equals(change.oldValue, newValue))//changed back while coalesced
+                    {
+                        continue;
+                    }
+                    try
+                    {
+                        LISTENER.changed(change.setting, change.index, change.oldValue, newValue);
+                    } catch (RuntimeException e)
+                    {
+                        LOG.log(Level.WARNING, bundle.getString("listenerFailed"), e);
+                    }
+                }
+            }
+        } finally
+        {
+            if (!done)
+            {
+                synchronized (pending)
+                {
+                    scheduled = false;
+                }
+            }
+        }
+    }
+
+    /**
+     * This is a change that wasn't delivered yet. If the changes get coalesced, two changes are equal if they are from
+     * the same Setting and index, otherwise every change is only equal to itself.
+     */
+    private static final class Change
+    {
+
+        private final Setting setting;
+
+        private final int index;
+
+        private final String oldValue;
+
+        private String newValue;
+
+        private final boolean coalesce;
+
+        private Change(Setting setting, int index, String oldValue, String newValue, boolean coalesce)
+        {
+
+            this.setting = setting;
+            this.index = index;
+            this.oldValue = oldValue;
+            this.newValue = newValue;
+            this.coalesce = coalesce;
+        }
+
+        /**
+         * This returns the value that the Setting has at the moment at the index of this change.
+         *
+         * @return The current value or the new value of this change, if the Setting has no value at the index anymore.
+         */
+        private String getCurrentValue()
+        {
+
+            SettingValues current = setting.getSnapshot();
+            return current.length() > index ? current.getString(index) : newValue;
+        }
+
+        @Override
+        public boolean equals(Object other)
+        {
+
+            if (!coalesce || !(other instanceof Change))
+            {
+                return this == other;
+            }
+            return setting == ((Change) other).setting && index == ((Change) other).index;
+        }
+
+        @Override
+        public int hashCode()
+        {
+
+            return coalesce ? 31 * System.identityHashCode(setting) + index : System.identityHashCode(this);
+        }
+    }
+}
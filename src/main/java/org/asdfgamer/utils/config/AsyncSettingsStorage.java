@@ -0,0 +1,295 @@
+package org.asdfgamer.utils.config;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static java.util.logging.Logger.getLogger;
+import static org.asdfgamer.utils.config.internal.SettingUtils.bundle;
+import static org.asdfgamer.utils.config.internal.SettingUtils.sortSettingsInClasses;
+
+/**
+ * This SettingsStorage saves the Settings of another SettingsStorage on one background thread. All saves of a class
+ * that are requested within the given window get written together, so if the Settings of a class get saved many times
+ * in a short time, the class gets only written once.
+ * <p>
+ * The given storage only gets used by the background thread, so it doesn't have to be thread safe.
+ *
+ * @author ASDFGamer
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public class AsyncSettingsStorage implements SettingsStorage, AutoCloseable
+{
+
+    /**
+     * The used Logger.
+     */
+    private final static Logger LOG = getLogger(AsyncSettingsStorage.class.getName());
+
+    /**
+     * This is the storage that really saves the Settings.
+     */
+    private final SettingsStorage STORAGE;
+
+    /**
+     * This is how long a save waits for other saves of the same class, in nanoseconds.
+     */
+    private final long WINDOW;
+
+    /**
+     * This is the thread that writes all Settings.
+     */
+    private final ScheduledThreadPoolExecutor writer;
+
+    /**
+     * This are the saves that wait for the end of their window, for every class.
+     */
+    private final Map<String, PendingSave> pending = new HashMap<>();
+
+    /**
+     * This is the number of saves that were written together with an earlier save of the same class.
+     */
+    private long coalescedSaves = 0;
+
+    /**
+     * This creates a new SettingsStorage that saves the Settings with the given storage in the background.
+     *
+     * @param storage The storage that saves the Settings.
+     * @param window  This is how long a save waits for other saves of the same class.
+     * @param unit    The unit of the window.
+     */
+    public AsyncSettingsStorage(SettingsStorage storage, long window, TimeUnit unit)
+    {
+
+        this.STORAGE = storage;
+        this.WINDOW = unit.toNanos(window);
+        this.writer = new ScheduledThreadPoolExecutor(1, runnable ->
+        {
+            Thread thread = new Thread(runnable, "AsyncSettingsStorage");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.writer.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    }
+
+    /**
+     * This loads the Settings on the background thread and waits until they are loaded. Saves that wait for their window
+     * get written first.
+     *
+     * @param settings This is a List with all Settings that should be loaded.
+     * @return true, if there was no problem while loading the Settings, otherwise false.
+     */
+    @Override
+    public boolean load(List<Setting> settings)
+    {
+
+        flush();
+        try
+        {
+            return writer.submit(() -> STORAGE.load(settings)).get();
+        } catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | RejectedExecutionException e)
+        {
+            LOG.log(Level.WARNING, bundle.getString("asyncStorageFailed"), e);
+            return false;
+        }
+    }
+
+    /**
+     * This saves the Settings and waits until they are written. The Settings get written together with all other saves
+     * of the same classes in the window.
+     *
+     * @param settings This is a List with all Settings that should be saved.
+     * @return true, if there was no problem while saving the Settings, otherwise false.
+     */
+    @Override
+    public boolean save(List<Setting> settings)
+    {
+
+        return saveAsync(settings).join();
+    }
+
+    /**
+     * This saves the Settings in the background. The Settings of every class get written at the end of the window that
+     * started with the first save of the class that wasn't written yet.
+     *
+     * @param settings This is a List with all Settings that should be saved.
+     * @return A future that completes with true, if there was no problem while saving the Settings, otherwise false.
+     */
+    @Override
+    public CompletableFuture<Boolean> saveAsync(List<Setting> settings)
+    {
+
+        List<CompletableFuture<Boolean>> results = new ArrayList<>();
+        synchronized (pending)
+        {
+            for (Map.Entry<String, List<Setting>> settingsOfClass : sortSettingsInClasses(settings).entrySet())
+            {
+                String className = settingsOfClass.getKey();
+                PendingSave save = pending.get(className);
+                if (save == null)
+                {
+                    save = new PendingSave();
+                    pending.put(className, save);
+                    schedule(className, WINDOW);
+                } else
+                {
+                    coalescedSaves++;
+                }
+                save.settings.addAll(settingsOfClass.getValue());
+                results.add(save.result);
+            }
+        }
+        return allSuccessful(results);
+    }
+
+    /**
+     * This writes all saves that wait for the end of their window now.
+     *
+     * @return A future that completes with true, if all waiting saves were successful, otherwise false.
+     */
+    public CompletableFuture<Boolean> flush()
+    {
+
+        List<CompletableFuture<Boolean>> results = new ArrayList<>();
+        synchronized (pending)
+        {
+            for (String className : new ArrayList<>(pending.keySet()))
+            {
+                results.add(pending.get(className).result);
+                schedule(className, 0);
+            }
+        }
+        return allSuccessful(results);
+    }
+
+    /**
+     * This returns how many saves of a class were written together with an earlier save of the same class.
+     *
+     * @return The number of saves that didn't need their own write.
+     */
+    public long getCoalescedSaves()
+    {
+
+        synchronized (pending)
+        {
+            return coalescedSaves;
+        }
+    }
+
+    /**
+     * This writes all waiting saves and stops the background thread. After this the storage can't be used anymore.
+     */
+    @Override
+    public void close()
+    {
+
+        synchronized (pending)
+        {
+            flush();
+            writer.shutdown();
+        }
+        try
+        {
+            if (!writer.awaitTermination(1, TimeUnit.MINUTES))
+            {
+                LOG.warning(bundle.getString("asyncStorageFailed"));
+            }
+        } catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * This combines the results of the classes.
+     *
+     * @param results The results of every class.
+     * @return A future that completes with true, if all classes were saved successfully, otherwise false.
+     */
+    private static CompletableFuture<Boolean> allSuccessful(List<CompletableFuture<Boolean>> results)
+    {
+
+        return CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0])).thenApply(ignored ->
+        {
+            boolean result = true;
+            for (CompletableFuture<Boolean> classResult : results)
+            {
+                result = classResult.join() && result;
+            }
+            return result;
+        });
+    }
+
+    /**
+     * This lets the background thread write the class after the given delay.
+     *
+     * @param className The class that should be written.
+     * @param delay     The delay in nanoseconds.
+     */
+    private void schedule(String className, long delay)
+    {
+
+        try
+        {
+            writer.schedule(() -> write(className), delay, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e)
+        {
+            LOG.log(Level.WARNING, bundle.getString("asyncStorageFailed"), e);
+            PendingSave save = pending.remove(className);
+            save.result.complete(false);
+        }
+    }
+
+    /**
+     * This writes all waiting Settings of the class. This only gets called by the background thread.
+     *
+     * @param className The class that should be written.
+     */
+    private void write(String className)
+    {
+
+        PendingSave save;
+        synchronized (pending)
+        {
+            save = pending.remove(className);
+        }
+        if (save == null)//already written by flush()
+        {
+            return;
+        }
+        try
+        {
+            save.result.complete(STORAGE.save(new ArrayList<>(save.settings)));
+        } catch (RuntimeException e)
+        {
+            LOG.log(Level.WARNING, bundle.getString("asyncStorageFailed"), e);
+            save.result.complete(false);
+        } catch (Error e)
+        {
+            save.result.completeExceptionally(e);//so that nobody waits forever
+            throw e;
+        }
+    }
+
+    /**
+     * This are the Settings of a class that wait to be written.
+     */
+    private static class PendingSave
+    {
+
+        /**
+         * This are the Settings that should be written.
+         */
+        private final Set<Setting> settings = new LinkedHashSet<>();
+
+        /**
+         * This gets completed when the Settings are written.
+         */
+        private final CompletableFuture<Boolean> result = new CompletableFuture<>();
+    }
+}
@@ -0,0 +1,241 @@
+package org.asdfgamer.utils.config;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+import java.util.zip.CRC32C;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.*;
+import static java.util.logging.Logger.getLogger;
+
+/**
+ * This writes files, so that a crash never leaves a half written file behind. Every file gets written to a new
+ * temporary file in the same folder, which then replaces the file with an atomic move. Because every write has its own
+ * temporary file, the same file can be written by more than one thread at the same time and one of the complete
+ * versions wins. When the data gets forced to the disk depends on the {@link FsyncPolicy}.
+ *
+ * @author ASDFGamer
+ */
+class AtomicFileWriter
+{
+
+    /**
+     * The used Logger.
+     */
+    private final static Logger LOG = getLogger(AtomicFileWriter.class.getName());
+
+    /**
+     * This is the extension of the temporary files. Their name starts with the name of the file.
+     */
+    private static final String TEMP_EXTENSION = ".tmp";
+
+    /**
+     * This is the checksum (see {@link #checksum(ByteBuffer)}) of the content that was written the last time to every
+     * file, so that a watcher can tell its own writes apart from changes by others.
+     */
+    private static final Map<Path, Long> WRITTEN = new ConcurrentHashMap<>();
+
+    private final FsyncPolicy policy;
+
+    /**
+     * This are the temporary files that still have to replace the files, which are the values of this Map.
+     */
+    private final Map<Path, Path> pending = new LinkedHashMap<>();
+
+    /**
+     * This are the checksums of the content of the files that still have to be replaced.
+     */
+    private final Map<Path, Long> checksums = new LinkedHashMap<>();
+
+    /**
+     * This creates a new Writer.
+     *
+     * @param policy This decides when the written files get forced to the disk.
+     */
+    AtomicFileWriter(FsyncPolicy policy)
+    {
+
+        this.policy = policy;
+    }
+
+    /**
+     * This writes the content to the given file. With {@link FsyncPolicy#BATCHED} the file only gets replaced by
+     * {@link #commit()}.
+     *
+     * @param file    The path to the file.
+     * @param content The new content of the file.
+     * @throws IOException If the temporary file couldn't be written or moved.
+     */
+    void write(String file, String content) throws IOException
+    {
+
+        write(file, StandardCharsets.UTF_8.encode(content));
+    }
+
+    /**
+     * This writes the bytes to the given file like {@link #write(String, String)}.
+     *
+     * @param file   The path to the file.
+     * @param buffer The new content of the file.
+     * @throws IOException If the temporary file couldn't be written or moved.
+     */
+    void write(String file, ByteBuffer buffer) throws IOException
+    {
+
+        Path target = Paths.get(file).toAbsolutePath().normalize();
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), TEMP_EXTENSION);
+        long checksum = checksum(buffer);
+        try (FileChannel channel = FileChannel.open(temp, WRITE, TRUNCATE_EXISTING))
+        {
+            while (buffer.hasRemaining())
+            {
+                channel.write(buffer);
+            }
+            if (policy == FsyncPolicy.ALWAYS)
+            {
+                channel.force(true);
+            }
+        } catch (IOException e)
+        {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        if (policy == FsyncPolicy.BATCHED)
+        {
+            pending.put(temp, target);
+            checksums.put(target, checksum);
+            return;
+        }
+        WRITTEN.put(target, checksum);
+        move(temp, target);
+        if (policy == FsyncPolicy.ALWAYS)
+        {
+            forceFolder(target.getParent());
+        }
+    }
+
+    /**
+     * This forces all files that were written since the last commit to the disk and replaces the old files with them.
+     * This does nothing if the policy isn't {@link FsyncPolicy#BATCHED}. If this fails, all files that weren't replaced
+     * yet are discarded.
+     *
+     * @throws IOException If a file couldn't be forced to the disk or moved.
+     */
+    void commit() throws IOException
+    {
+
+        if (pending.isEmpty())
+        {
+            return;
+        }
+        try
+        {
+            for (Path temp : pending.keySet())
+            {
+                try (FileChannel channel = FileChannel.open(temp, WRITE))
+                {
+                    channel.force(true);
+                }
+            }
+            Set<Path> folders = new LinkedHashSet<>();
+            for (Map.Entry<Path, Path> file : pending.entrySet())
+            {
+                WRITTEN.put(file.getValue(), checksums.get(file.getValue()));
+                move(file.getKey(), file.getValue());
+                folders.add(file.getValue().getParent());
+            }
+            for (Path folder : folders)
+            {
+                forceFolder(folder);
+            }
+        } finally
+        {
+            for (Path temp : pending.keySet())
+            {
+                Files.deleteIfExists(temp);
+            }
+            pending.clear();
+            checksums.clear();
+        }
+    }
+
+    /**
+     * This checks if the file contains what was written the last time to it by an AtomicFileWriter.
+     *
+     * @param file    The path to the file.
+     * @param content The current content of the file, its position doesn't change.
+     * @return true, if the content is the same as the last written content, false if the file was changed by someone
+     * else or never written.
+     */
+    static boolean isLastWrite(Path file, ByteBuffer content)
+    {
+
+        Long checksum = WRITTEN.get(file.toAbsolutePath().normalize());
+        return checksum != null && checksum == checksum(content);
+    }
+
+    /**
+     * This calculates the checksum of the remaining bytes of the buffer. The number of bytes is part of the checksum.
+     *
+     * @param buffer The content of a file, its position doesn't change.
+     * @return The checksum.
+     */
+    private static long checksum(ByteBuffer buffer)
+    {
+
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.duplicate());
+        return crc.getValue() ^ ((long) buffer.remaining() << 32);
+    }
+
+    /**
+     * This replaces the file with the temporary file.
+     *
+     * @param temp   The temporary file.
+     * @param target The file that should be replaced.
+     * @throws IOException If the file couldn't be moved.
+     */
+    private static void move(Path temp, Path target) throws IOException
+    {
+
+        try
+        {
+            Files.move(temp, target, ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e)
+        {
+            LOG.fine(e.getMessage());
+            Files.move(temp, target, REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * This forces the folder to the disk, so that the moved files are also there after a crash. Some systems (e.g.
+     * Windows) can't open folders, there this does nothing.
+     *
+     * @param folder The folder of the moved files.
+     */
+    private static void forceFolder(Path folder)
+    {
+
+        try (FileChannel channel = FileChannel.open(folder, READ))
+        {
+            channel.force(true);
+        } catch (IOException e)
+        {
+            LOG.fine(e.getMessage());
+        }
+    }
+}
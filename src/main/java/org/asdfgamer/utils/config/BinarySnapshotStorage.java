@@ -0,0 +1,595 @@
+package org.asdfgamer.utils.config;
+
+import org.asdfgamer.utils.other.Utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.asdfgamer.utils.config.internal.SettingUtils.bundle;
+import static org.asdfgamer.utils.config.internal.SettingUtils.sortSettingsInClasses;
+
+/**
+ * This SettingsStorage saves the Settings of all classes in one binary file, so that they can be loaded with one read
+ * and without parsing text. The values get saved with their type, so integer, double and boolean values don't have to
+ * be converted from Strings.
+ * <p>
+ * The file starts with a header and an index with the position of every class, followed by the Settings of the
+ * classes:
+ * <pre>
+ * int magic, int version, int number of classes
+ * for every class: String class name, int offset, int length
+ * for every class: int number of Settings
+ *     for every Setting: String name, byte type, int number of values, the values
+ * </pre>
+ * All numbers are big endian and every String is an int with the number of bytes followed by the UTF-8 bytes.
+ * <p>
+ * If another storage is given, classes that aren't in the snapshot yet get loaded from that storage and are added to
+ * the snapshot afterwards. This way a program can switch from {@link PropertiesFileStorage} to this storage without
+ * losing the Settings of its users.
+ * <p>
+ * Saving reads the whole snapshot, changes the classes and writes it back. That's why saving and loading are
+ * synchronized, so that two threads that save different classes at the same time don't overwrite the Settings of the
+ * other class. This only works if all threads use the same BinarySnapshotStorage.
+ *
+ * @author ASDFGamer
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public class BinarySnapshotStorage implements SettingsStorage
+{
+
+    /**
+     * The used Logger.
+     */
+    private static final Logger LOG = Logger.getLogger(BinarySnapshotStorage.class.getName());
+
+    /**
+     * This are the first bytes of every snapshot ("SETS").
+     */
+    private static final int MAGIC = 0x53455453;
+
+    /**
+     * This is the version of the format that gets written. It has to be increased with every change of the format.
+     */
+    static final int VERSION = 1;
+
+    /**
+     * This is the name of the snapshot file in the configuration folder.
+     */
+    static final String FILE_NAME = "settings.snapshot";
+
+    /**
+     * This is the name of the program that saves the Settings.
+     */
+    private final String PROGRAM_NAME;
+
+    /**
+     * This is the storage that the classes get loaded from, if they aren't in the snapshot, or null.
+     */
+    private final SettingsStorage MIGRATE_FROM;
+
+    /**
+     * This decides when the snapshot gets forced to the disk.
+     */
+    private final FsyncPolicy FSYNC_POLICY;
+
+    /**
+     * This are the number of changes of every class (see {@link SettingClassInfo#getChanges(String)}) at the time the
+     * class was saved or loaded the last time by this storage.
+     */
+    private final Map<String, Integer> storedChanges = new ConcurrentHashMap<>();
+
+    /**
+     * This creates a new SettingsStorage for the given Program name.
+     *
+     * @param programName The name of the program that saves the settings.
+     */
+    public BinarySnapshotStorage(String programName)
+    {
+
+        this(programName, null, FsyncPolicy.ALWAYS);
+    }
+
+    /**
+     * This creates a new SettingsStorage that loads classes that aren't in the snapshot from the given storage. A class
+     * only gets added to the snapshot, if it could be loaded completely from the given storage.
+     *
+     * @param programName The name of the program that saves the settings.
+     * @param migrateFrom The storage that was used before, e.g. a {@link PropertiesFileStorage}.
+     */
+    public BinarySnapshotStorage(String programName, SettingsStorage migrateFrom)
+    {
+
+        this(programName, migrateFrom, FsyncPolicy.ALWAYS);
+    }
+
+    /**
+     * This creates a new SettingsStorage with the given arguments.
+     *
+     * @param programName The name of the program that saves the settings.
+     * @param migrateFrom The storage that was used before, e.g. a {@link PropertiesFileStorage}, or null.
+     * @param fsyncPolicy This decides when the snapshot gets forced to the disk. By default this is
+     *                    {@link FsyncPolicy#ALWAYS}.
+     */
+    public BinarySnapshotStorage(String programName, SettingsStorage migrateFrom, FsyncPolicy fsyncPolicy)
+    {
+
+        this.PROGRAM_NAME = programName;
+        this.MIGRATE_FROM = migrateFrom;
+        this.FSYNC_POLICY = fsyncPolicy;
+    }
+
+    /**
+     * This loads all Settings from the snapshot.
+     *
+     * @param settings This is a List with all Settings that should be loaded.
+     * @return true, if there was no problem while loading the Settings, otherwise false.
+     */
+    @Override
+    public boolean load(List<Setting> settings)
+    {
+
+        return loadAll(Collections.singletonList(settings), 1);
+    }
+
+    /**
+     * This loads the Settings of many classes. The snapshot gets read only once for all classes, so this doesn't need
+     * more threads.
+     *
+     * @param settingsOfClasses This are the Settings that should be loaded, one List for every class.
+     * @param threads           This isn't used.
+     * @return true, if there was no problem while loading the Settings, otherwise false.
+     */
+    @Override
+    public synchronized boolean loadAll(List<List<Setting>> settingsOfClasses, int threads)
+    {
+
+        Map<String, ByteBuffer> snapshot = read();
+        Map<String, List<Setting>> migrated = new LinkedHashMap<>();
+        boolean result = true;
+        for (List<Setting> settings : settingsOfClasses)
+        {
+            for (Map.Entry<String, List<Setting>> settingsSortedInClasses : sortSettingsInClasses(settings).entrySet())
+            {
+                String className = settingsSortedInClasses.getKey();
+                ByteBuffer section = snapshot.get(className);
+                boolean successful;
+                if (section != null)
+                {
+                    successful = decode(settingsSortedInClasses.getValue(), section);
+                } else if (MIGRATE_FROM != null)
+                {
+                    successful = MIGRATE_FROM.load(settingsSortedInClasses.getValue());
+                    if (successful)//otherwise the old storage gets used again with the next load
+                    {
+                        migrated.put(className, settingsSortedInClasses.getValue());
+                    }
+                } else
+                {
+                    LOG.warning(bundle.getString("snapshotMissingClass") + className);
+                    SettingClassInfo.setProblemsWithLoading(className);
+                    successful = false;
+                }
+                result = loaded(className, successful) && result;
+            }
+        }
+        if (!migrated.isEmpty())
+        {
+            result = write(migrated, snapshot) && result;
+        }
+        return result;
+    }
+
+    /**
+     * This saves the Settings into the snapshot. The Settings of other classes in the snapshot stay unchanged. The
+     * snapshot only gets written if a Setting of the classes changed since they were saved or loaded the last time. The
+     * snapshot gets read again while this storage is locked, so a save by another thread can't get lost.
+     *
+     * @param settings This is a List with all Settings that should be saved.
+     * @return true, if there was no problem while saving the Settings, otherwise false.
+     */
+    @Override
+    public synchronized boolean save(List<Setting> settings)
+    {
+
+        Map<String, List<Setting>> classes = sortSettingsInClasses(settings);
+        boolean changed = false;
+        for (String className : classes.keySet())
+        {
+            if (!storedChanges.containsKey(className) || storedChanges.get(className) != SettingClassInfo.getChanges(className))
+            {
+                changed = true;
+            }
+        }
+        if (!changed)
+        {
+            LOG.fine(bundle.getString("nothingChanged"));
+            return true;
+        }
+        return write(classes, read());
+    }
+
+    /**
+     * This returns the path to the snapshot.
+     *
+     * @return The path to the snapshot.
+     */
+    public Path getPath()
+    {
+
+        return Paths.get(Utils.getConfigFolder(PROGRAM_NAME), FILE_NAME);
+    }
+
+    /**
+     * This notes if the class was loaded completely, so that the next save knows if the snapshot is up to date.
+     *
+     * @param className  The name of the class.
+     * @param successful true, if all Settings of the class were loaded.
+     * @return The value of successful.
+     */
+    private boolean loaded(String className, boolean successful)
+    {
+
+        if (successful)
+        {
+            storedChanges.put(className, SettingClassInfo.getChanges(className));
+        } else
+        {
+            storedChanges.remove(className);
+        }
+        return successful;
+    }
+
+    /**
+     * This reads the snapshot and returns the part of every class. Big snapshots get mapped into memory.
+     *
+     * @return The part of the snapshot for every class or an empty Map if there is no valid snapshot.
+     */
+    private Map<String, ByteBuffer> read()
+    {
+
+        Path path = getPath();
+        if (!Files.isRegularFile(path))
+        {
+            return Collections.emptyMap();
+        }
+        ByteBuffer buffer;
+        try
+        {
+            buffer = PropertiesFileReader.readFile(path);
+        } catch (IOException e)
+        {
+            LOG.log(Level.WARNING, bundle.getString("problemLoadFile"), e);
+            return Collections.emptyMap();
+        }
+        try
+        {
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION)
+            {
+                LOG.warning(bundle.getString("snapshotInvalid") + path);
+                return Collections.emptyMap();
+            }
+            int classes = buffer.getInt();
+            Map<String, ByteBuffer> snapshot = new LinkedHashMap<>();
+            for (int i = 0; i < classes; i++)
+            {
+                String className = getString(buffer);
+                int offset = buffer.getInt();
+                int length = buffer.getInt();
+                ByteBuffer section = buffer.duplicate();
+                section.limit(offset + length).position(offset);
+                snapshot.put(className, section.slice());
+            }
+            return snapshot;
+        } catch (BufferUnderflowException | IllegalArgumentException e)
+        {
+            LOG.warning(bundle.getString("snapshotInvalid") + path);
+            return Collections.emptyMap();
+        }
+    }
+
+    /**
+     * This writes the snapshot with the given classes and all other classes of the old snapshot.
+     *
+     * @param classes  The Settings that should be written, sorted in their classes.
+     * @param snapshot The old snapshot.
+     * @return true, if the snapshot was written, otherwise false.
+     */
+    private boolean write(Map<String, List<Setting>> classes, Map<String, ByteBuffer> snapshot)
+    {
+
+        try
+        {
+            Map<String, ByteBuffer> sections = new LinkedHashMap<>(snapshot);
+            Map<String, Integer> savedChanges = new HashMap<>();
+            for (Map.Entry<String, List<Setting>> settingsSortedInClasses : classes.entrySet())
+            {
+                savedChanges.put(settingsSortedInClasses.getKey(), SettingClassInfo.getChanges(settingsSortedInClasses.getKey()));
+                sections.put(settingsSortedInClasses.getKey(), encode(settingsSortedInClasses.getValue()));
+            }
+
+            List<byte[]> names = new ArrayList<>(sections.size());
+            int headerSize = 3 * Integer.BYTES;
+            int size = 0;
+            for (Map.Entry<String, ByteBuffer> section : sections.entrySet())
+            {
+                byte[] name = section.getKey().getBytes(StandardCharsets.UTF_8);
+                names.add(name);
+                headerSize += 3 * Integer.BYTES + name.length;
+                size += section.getValue().remaining();
+            }
+            ByteBuffer file = ByteBuffer.allocate(headerSize + size);
+            file.putInt(MAGIC).putInt(VERSION).putInt(sections.size());
+            int offset = headerSize;
+            int i = 0;
+            for (ByteBuffer section : sections.values())
+            {
+                byte[] name = names.get(i++);
+                file.putInt(name.length).put(name).putInt(offset).putInt(section.remaining());
+                offset += section.remaining();
+            }
+            for (ByteBuffer section : sections.values())
+            {
+                file.put(section.duplicate());
+            }
+            file.flip();
+
+            Path path = getPath();
+            if (!Utils.isFolder(path.getParent()))
+            {
+                Utils.createFolder(path.getParent());
+            }
+            AtomicFileWriter writer = new AtomicFileWriter(FSYNC_POLICY);
+            writer.write(path.toString(), file);
+            writer.commit();
+            storedChanges.putAll(savedChanges);
+            return true;
+        } catch (IOException e)
+        {
+            LOG.log(Level.WARNING, bundle.getString("problemWhileWriting") + PROGRAM_NAME, e);
+            return false;
+        }
+    }
+
+    /**
+     * This writes the Settings of one class in the format of the snapshot.
+     *
+     * @param settings The Settings of the class.
+     * @return The written Settings.
+     * @throws IOException This can't happen, because the Settings get written into memory.
+     */
+    private static ByteBuffer encode(List<Setting> settings) throws IOException
+    {
+
+        List<Setting> saved = new ArrayList<>(settings.size());
+        for (Setting setting : settings)
+        {
+            if (!setting.isInternalValue())
+            {
+                saved.add(setting);
+            }
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32 * saved.size() + Integer.BYTES);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(saved.size());
+        for (Setting setting : saved)
+        {
+            SettingValues values = setting.getSnapshot();
+            putString(out, setting.getSettingName());
+            out.writeByte(code(values.getType()));
+            out.writeInt(values.length());
+            for (int i = 0; i < values.length(); i++)
+            {
+                switch (values.getType())
+                {
+                    case Integer:
+                        out.writeInt(values.getInt(i));
+                        break;
+                    case Double:
+                        out.writeDouble(values.getDouble(i));
+                        break;
+                    case Boolean:
+                        out.writeBoolean(values.getBoolean(i));
+                        break;
+                    default:
+                        putString(out, values.getString(i));
+                        break;
+                }
+            }
+        }
+        out.flush();
+        return ByteBuffer.wrap(bytes.toByteArray());
+    }
+
+    /**
+     * This gives the Settings of one class the values from its part of the snapshot. The values get set with their
+     * type, only Enum values get set as String, because the Enum may not be initialised yet.
+     *
+     * @param settings The Settings of the class.
+     * @param section  The part of the snapshot for the class.
+     * @return true, if all Settings were in the snapshot.
+     */
+    private static boolean decode(List<Setting> settings, ByteBuffer section)
+    {
+
+        Map<String, Setting> byName = new HashMap<>();
+        for (Setting setting : settings)
+        {
+            byName.put(setting.getSettingName(), setting);
+        }
+        ByteBuffer in = section.duplicate();
+        boolean result = true;
+        Setting.setLoading(true);
+        try
+        {
+            int count = in.getInt();
+            for (int i = 0; i < count; i++)
+            {
+                Setting setting = byName.remove(getString(in));
+                SettingsPropertyTypes type = type(in.get());
+                int length = in.getInt();
+                for (int index = 0; index < length; index++)
+                {
+                    switch (type)
+                    {
+                        case Integer:
+                            int intValue = in.getInt();
+                            if (setting != null && !(setting.hasIntegerValue() ? setting.setInteger(intValue, index) : setRaw(setting, String.valueOf(intValue), index)))
+                            {
+                                result = false;
+                            }
+                            break;
+                        case Double:
+                            double doubleValue = in.getDouble();
+                            if (setting != null && !(setting.hasDoubleValue() ? setting.setDouble(doubleValue, index) : setRaw(setting, String.valueOf(doubleValue), index)))
+                            {
+                                result = false;
+                            }
+                            break;
+                        case Boolean:
+                            boolean booleanValue = in.get() != 0;
+                            if (setting != null && !(setting.hasBooleanValue() ? setting.setBoolean(booleanValue, index) : setRaw(setting, String.valueOf(booleanValue), index)))
+                            {
+                                result = false;
+                            }
+                            break;
+                        default:
+                            String text = getString(in);
+                            if (setting != null && !setRaw(setting, text, index))
+                            {
+                                result = false;
+                            }
+                            break;
+                    }
+                }
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException e)
+        {
+            LOG.log(Level.WARNING, bundle.getString("problemLoadFile"), e);
+            result = false;
+        } finally
+        {
+            Setting.setLoading(false);
+        }
+        for (Setting setting : byName.values())
+        {
+            if (!setting.isInternalValue())
+            {
+                LOG.warning(bundle.getString("problemLoadSetting_start") + " '" + setting.getSettingName() + "' " + bundle.getString("problemLoadSetting_end"));
+                SettingClassInfo.setProblemsWithLoading(setting.getClassName());
+                result = false;
+            }
+        }
+        if (!settings.isEmpty())
+        {
+            SettingClassInfo.setSettingsLoaded(settings.get(0).getClassName());
+        }
+        return result;
+    }
+
+    /**
+     * This sets the value from its String, if the type in the snapshot isn't the type of the Setting anymore.
+     *
+     * @param setting The Setting.
+     * @param value   The value as String.
+     * @param index   The index of the value.
+     * @return true, if the value could be set, otherwise false.
+     */
+    private static boolean setRaw(Setting setting, String value, int index)
+    {
+
+        try
+        {
+            setting.setRaw(value, index);
+            return true;
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e)
+        {
+            LOG.warning(bundle.getString("invalidPropertyValue") + setting.getSettingName());
+            return false;
+        }
+    }
+
+    private static void putString(DataOutputStream out, String value) throws IOException
+    {
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String getString(ByteBuffer in)
+    {
+
+        int length = in.getInt();
+        if (length < 0 || length > in.remaining())
+        {
+            throw new IllegalArgumentException("Invalid length of a String: " + length);
+        }
+        String value;
+        if (in.hasArray())
+        {
+            value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+            in.position(in.position() + length);
+        } else
+        {
+            byte[] bytes = new byte[length];
+            in.get(bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return value;
+    }
+
+    /**
+     * This returns the code of the type in the snapshot. The codes must never change.
+     *
+     * @param type The type of a Setting.
+     * @return The code of the type.
+     */
+    private static byte code(SettingsPropertyTypes type)
+    {
+
+        switch (type)
+        {
+            case Integer:
+                return 1;
+            case Double:
+                return 2;
+            case Boolean:
+                return 3;
+            case Enum:
+                return 4;
+            default:
+                return 0;
+        }
+    }
+
+    private static SettingsPropertyTypes type(byte code)
+    {
+
+        switch (code)
+        {
+            case 0:
+                return SettingsPropertyTypes.String;
+            case 1:
+                return SettingsPropertyTypes.Integer;
+            case 2:
+                return SettingsPropertyTypes.Double;
+            case 3:
+                return SettingsPropertyTypes.Boolean;
+            case 4:
+                return SettingsPropertyTypes.Enum;
+            default:
+                throw new IllegalArgumentException("Unknown type in the snapshot: " + code);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package org.asdfgamer.utils.config;
+
+/**
+ * This Listener gets informed when a value of a Setting with double values changes. It gets the values as double, so
+ * they don't have to be converted from Strings. It is added with {@link Setting#addDoubleListener(DoubleSettingListener)}.
+ *
+ * @author ASDFGamer
+ * @see SettingChangeListener
+ */
+@FunctionalInterface
+public interface DoubleSettingListener
+{
+
+    /**
+     * This gets called after a value of the Setting changed. If the new value is equal to the old value this doesn't
+     * get called.
+     *
+     * @param setting  The Setting with the changed value.
+     * @param index    The index of the changed value.
+     * @param oldValue The value before the change or 0, if the value was added.
+     * @param newValue The new value.
+     */
+    void changed(Setting setting, int index, double oldValue, double newValue);
+}
@@ -0,0 +1,26 @@
+package org.asdfgamer.utils.config;
+
+/**
+ * This Listener gets informed when a value of a Setting with Enum values changes. It gets the values as Enum elements,
+ * so they don't have to be looked up from Strings. It is added with
+ * {@link Setting#addEnumListener(Class, EnumSettingListener)}.
+ *
+ * @param <E> The type of the Enum.
+ * @author ASDFGamer
+ * @see SettingChangeListener
+ */
+@FunctionalInterface
+public interface EnumSettingListener<E extends Enum<E>>
+{
+
+    /**
+     * This gets called after a value of the Setting changed. If the new value is equal to the old value this doesn't
+     * get called.
+     *
+     * @param setting  The Setting with the changed value.
+     * @param index    The index of the changed value.
+     * @param oldValue The value before the change or null, if the value was added.
+     * @param newValue The new value.
+     */
+    void changed(Setting setting, int index, E oldValue, E newValue);
+}
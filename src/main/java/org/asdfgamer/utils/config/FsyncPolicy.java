@@ -0,0 +1,27 @@
+package org.asdfgamer.utils.config;
+
+/**
+ * This decides when the Settings that get saved are forced to the disk. Every file gets written to a temporary file
+ * that replaces the old file with an atomic move, so the file is never half written. Without forcing the data to the
+ * disk a crash of the system can still lose the last saved values.
+ *
+ * @author ASDFGamer
+ */
+public enum FsyncPolicy
+{
+    /**
+     * Every file and its folder get forced to the disk, before the next file gets written.
+     */
+    ALWAYS,
+
+    /**
+     * Nothing gets forced to the disk, the operating system decides when the files get written.
+     */
+    NEVER,
+
+    /**
+     * All files of one save get written first, then they are forced to the disk together and replace the old files at
+     * the end of the save. Every folder only gets forced once per save.
+     */
+    BATCHED
+}
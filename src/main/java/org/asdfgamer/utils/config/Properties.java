@@ -5,9 +5,9 @@ import org.asdfgamer.utils.config.sort.SettingElement;
 import org.asdfgamer.utils.config.sort.SettingsSorter;
 import org.asdfgamer.utils.other.Utils;
 
-import java.io.*;
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
 import java.util.List;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import static java.util.logging.Logger.getLogger;
@@ -100,14 +100,14 @@ public class Properties
     }
 
     /**
-     * This Method saves all values that got added to the class.
+     * This Method saves all values that got added to the class. The file gets replaced atomically and is forced to the
+     * disk, like with {@link FsyncPolicy#ALWAYS}.
      *
      * @return true, if the file got saved successfully, otherwise false.
      */
     public boolean save()
     {
 
-        List<ListElement> content = settingsSorter.getSortedList();
         if (!Utils.isFile(file))
         {
             if (!Utils.createFile(file))
@@ -117,39 +117,63 @@ public class Properties
                 return false;
             }
         }
+        return save(new AtomicFileWriter(FsyncPolicy.ALWAYS));
+    }
+
+    /**
+     * This Method saves all values that got added to the class with the given writer. If the writer batches the
+     * files, the file only gets replaced when the writer commits. The folder of the file has to exist already.
+     *
+     * @param fileWriter The writer that writes the file.
+     * @return true, if the file got saved successfully, otherwise false.
+     */
+    boolean save(AtomicFileWriter fileWriter)
+    {
+
         try
         {
-            Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8));
-            writer.write("#" + bundle.getString("fileHeader") + PROGRAM_NAME + "'.");
-            writer.write("\n");
+            StringBuilder text = new StringBuilder();
+            text.append("#").append(bundle.getString("fileHeader")).append(PROGRAM_NAME).append("'.");
+            text.append("\n");
+            appendEntries(text);
+            fileWriter.write(file, text.toString());
+        } catch (IOException e)
+        {
+            LOG.log(Level.WARNING, bundle.getString("problemWhileWriting") + file, e);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * This appends all values that got added to the class with their comments and captions, but without the header of
+     * the file.
+     *
+     * @param text The text to which the values get appended.
+     */
+    void appendEntries(StringBuilder text)
+    {
 
-            for (ListElement element : content)
+        for (ListElement element : settingsSorter.getSortedList())
+        {
+            if (element instanceof SettingElement)
             {
-                if (element instanceof SettingElement)
+                Setting setting = ((SettingElement) element).getSetting();
+                String settingText;
+                if (setting.getType().equals(SettingsPropertyTypes.String))
                 {
-                    Setting setting = ((SettingElement) element).getSetting();
-                    String settingText;
-                    if (setting.getType().equals(SettingsPropertyTypes.String))
-                    {
-                        settingText = "\"" + setting.get() + "\"";
-                    } else
-                    {
-                        settingText = setting.get();
-                    }
-                    writer.write("#" + setting.getInformationText() + "(" + bundle.getString("std_value") + " = " + setting.getDefaultValue() + ")" + "\n" + setting.getSettingName() + "=" + settingText + "\n");
-                } else//CaptionElement
+                    settingText = "\"" + setting.get() + "\"";
+                } else
                 {
-                    writer.write("\n#" + element.getContent() + "\n");
+                    settingText = setting.get();
                 }
-                writer.write("\n");
+                text.append("#").append(setting.getInformationText()).append("(").append(bundle.getString("std_value")).append(" = ").append(setting.getDefaultValue()).append(")").append("\n").append(setting.getSettingName()).append("=").append(settingText).append("\n");
+            } else//CaptionElement
+            {
+                text.append("\n#").append(element.getContent()).append("\n");
             }
-            writer.flush();
-        } catch (IOException e)
-        {
-            LOG.warning(bundle.getString("problemWhileWriting"));
-            return false;
+            text.append("\n");
         }
-        return true;
     }
 
 }
@@ -0,0 +1,497 @@
+package org.asdfgamer.utils.config;
+
+import org.asdfgamer.utils.other.Utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * This reads the values of Settings from a file in the format of {@link java.util.Properties}. The file gets parsed
+ * directly from its bytes and only the values of the given Settings get decoded, so lines with comments and values
+ * that don't belong to a Setting never become Strings. The file is read as UTF-8, like it gets written by
+ * {@link PropertiesFileStorage}.
+ * <p>
+ * Big files get mapped into memory instead of being copied. This isn't done on Windows, because there a mapped file
+ * can't be replaced until the mapping gets garbage collected.
+ *
+ * @author ASDFGamer
+ */
+final class PropertiesFileReader
+{
+
+    /**
+     * Files with at least this many bytes get mapped into memory.
+     */
+    static final int MAP_THRESHOLD = 64 * 1024;
+
+    /**
+     * This is the buffer of every thread for the files that don't get mapped, so that it doesn't get allocated for
+     * every file.
+     */
+    private static final ThreadLocal<ByteBuffer> BUFFERS = ThreadLocal.withInitial(() -> ByteBuffer.allocate(MAP_THRESHOLD));
+
+    /**
+     * This are the names of the Settings.
+     */
+    private final String[] names;
+
+    /**
+     * This is a hash table with the index of every name plus one, 0 marks an empty slot.
+     */
+    private final int[] table;
+
+    /**
+     * This is the content of the file.
+     */
+    private ByteBuffer buffer;
+
+    /**
+     * This is the array of {@link #buffer}, if the file isn't mapped, because an array can be read faster.
+     */
+    private byte[] array;
+
+    /**
+     * This is the index of the first byte of {@link #buffer} in {@link #array}.
+     */
+    private int arrayOffset;
+
+    /**
+     * This are the read values with the same index as the Settings or null if the Setting isn't in the file.
+     */
+    private String[] values;
+
+    /**
+     * This gets reused to copy the bytes of a mapped file before they get decoded.
+     */
+    private byte[] bytes = new byte[64];
+
+    /**
+     * This creates a new reader for the given Settings.
+     *
+     * @param settings The Settings whose values should be read.
+     */
+    private PropertiesFileReader(List<Setting> settings)
+    {
+
+        names = new String[settings.size()];
+        table = new int[Integer.highestOneBit(Math.max(settings.size(), 1) * 2) << 1];
+        int i = 0;
+        for (Setting setting : settings)//The List may be a LinkedList.
+        {
+            names[i] = setting.getSettingName();
+            int slot = hash(names[i]) & (table.length - 1);
+            while (table[slot] != 0)
+            {
+                slot = (slot + 1) & (table.length - 1);
+            }
+            table[slot] = ++i;
+        }
+    }
+
+    /**
+     * This reads the values of the given Settings from the file.
+     *
+     * @param path     The path to the file.
+     * @param settings The Settings whose values should be read.
+     * @return The values with the same index as the Settings. If a Setting isn't in the file its value is null.
+     * @throws IOException If the file couldn't be read.
+     */
+    static String[] read(String path, List<Setting> settings) throws IOException
+    {
+
+        try (FileChannel channel = FileChannel.open(Paths.get(path), READ))
+        {
+            long size = channel.size();
+            if (size >= MAP_THRESHOLD && !Utils.isWindows())
+            {
+                return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, size), settings);
+            }
+            ByteBuffer buffer = BUFFERS.get();
+            buffer.clear();
+            if (size > buffer.capacity())//only on Windows
+            {
+                buffer = ByteBuffer.allocate((int) size);
+            }
+            buffer.limit((int) size);
+            readFully(channel, buffer);
+            return read(buffer, settings);
+        }
+    }
+
+    /**
+     * This reads the values of the given Settings from the remaining bytes of the buffer.
+     *
+     * @param buffer   The content of a file or a part of it.
+     * @param settings The Settings whose values should be read.
+     * @return The values with the same index as the Settings. If a Setting isn't in the buffer its value is null.
+     */
+    static String[] read(ByteBuffer buffer, List<Setting> settings)
+    {
+
+        PropertiesFileReader reader = new PropertiesFileReader(settings);
+        reader.buffer = buffer.slice();
+        if (reader.buffer.hasArray())
+        {
+            reader.array = reader.buffer.array();
+            reader.arrayOffset = reader.buffer.arrayOffset();
+        }
+        return reader.parse();
+    }
+
+    /**
+     * This reads the whole file. Big files get mapped into memory, except on Windows.
+     *
+     * @param path The path to the file.
+     * @return The content of the file.
+     * @throws IOException If the file couldn't be read.
+     */
+    static ByteBuffer readFile(Path path) throws IOException
+    {
+
+        try (FileChannel channel = FileChannel.open(path, READ))
+        {
+            long size = channel.size();
+            if (size >= MAP_THRESHOLD && !Utils.isWindows())
+            {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            readFully(channel, buffer);
+            return buffer;
+        }
+    }
+
+    /**
+     * This reads from the channel until the buffer is full or the end of the file is reached.
+     *
+     * @param channel The channel of the file.
+     * @param buffer  The buffer, afterwards it contains the read bytes.
+     * @throws IOException If the file couldn't be read.
+     */
+    private static void readFully(FileChannel channel, ByteBuffer buffer) throws IOException
+    {
+
+        while (buffer.hasRemaining() && channel.read(buffer) >= 0)
+        {
+            //read until the buffer is full
+        }
+        buffer.flip();
+    }
+
+    /**
+     * This parses all lines of the buffer.
+     *
+     * @return The read values.
+     */
+    private String[] parse()
+    {
+
+        values = new String[names.length];
+        int position = 0;
+        int limit = buffer.limit();
+        while (position < limit)
+        {
+            position = skipWhitespace(position, limit);
+            if (position >= limit)
+            {
+                break;
+            }
+            byte first = at(position);
+            if (first == '#' || first == '!')
+            {
+                position = nextLine(position, limit);
+            } else if (first == '\n' || first == '\r')
+            {
+                position++;
+            } else
+            {
+                position = parseEntry(position, limit);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * This parses one entry, which can span more lines.
+     *
+     * @param start The first byte of the key.
+     * @param limit The end of the buffer.
+     * @return The first byte after the entry.
+     */
+    private int parseEntry(int start, int limit)
+    {
+
+        int position = start;
+        boolean ascii = true;
+        while (position < limit)
+        {
+            byte current = at(position);
+            if (current == '\\')
+            {
+                ascii = false;
+                position += 2;
+                continue;
+            }
+            if (current < 0)
+            {
+                ascii = false;
+            }
+            if (current == '=' || current == ':' || isWhitespace(current) || current == '\n' || current == '\r')
+            {
+                break;
+            }
+            position++;
+        }
+        int keyEnd = Math.min(position, limit);
+        int index = ascii ? indexOf(start, keyEnd) : indexOf(unescape(start, keyEnd));
+
+        position = skipWhitespace(keyEnd, limit);
+        if (position < limit && (at(position) == '=' || at(position) == ':'))
+        {
+            position = skipWhitespace(position + 1, limit);
+        }
+        int valueStart = position;
+        boolean escaped = false;
+        while (position < limit)
+        {
+            byte current = at(position);
+            if (current == '\n' || current == '\r')
+            {
+                break;
+            }
+            if (current == '\\')
+            {
+                escaped = true;
+                position++;
+                if (position < limit && at(position) == '\r' && position + 1 < limit && at(position + 1) == '\n')
+                {
+                    position++;
+                }
+                if (position < limit && (at(position) == '\n' || at(position) == '\r'))
+                {
+                    position = skipWhitespace(position + 1, limit) - 1;
+                }
+            }
+            position++;
+        }
+        int valueEnd = Math.min(position, limit);
+        if (index >= 0)
+        {
+            values[index] = escaped ? unescape(valueStart, valueEnd) : decode(valueStart, valueEnd);
+        }
+        return valueEnd;
+    }
+
+    /**
+     * This returns the index of the Setting with the name in the given bytes. The name must contain only ASCII
+     * characters and no escapes.
+     *
+     * @param start The first byte of the name.
+     * @param end   The first byte after the name.
+     * @return The index of the Setting or -1 if there is no Setting with this name.
+     */
+    private int indexOf(int start, int end)
+    {
+
+        int slot = hash(start, end) & (table.length - 1);
+        while (table[slot] != 0)
+        {
+            String name = names[table[slot] - 1];
+            if (name.length() == end - start && equals(name, start))
+            {
+                return table[slot] - 1;
+            }
+            slot = (slot + 1) & (table.length - 1);
+        }
+        return -1;
+    }
+
+    /**
+     * This returns the index of the Setting with the given name.
+     *
+     * @param name The name of the Setting.
+     * @return The index of the Setting or -1 if there is no Setting with this name.
+     */
+    private int indexOf(String name)
+    {
+
+        int slot = hash(name) & (table.length - 1);
+        while (table[slot] != 0)
+        {
+            if (names[table[slot] - 1].equals(name))
+            {
+                return table[slot] - 1;
+            }
+            slot = (slot + 1) & (table.length - 1);
+        }
+        return -1;
+    }
+
+    private boolean equals(String name, int start)
+    {
+
+        for (int i = 0; i < name.length(); i++)
+        {
+            if (name.charAt(i) != at(start + i))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * This decodes the given bytes, that contain no escapes.
+     *
+     * @param start The first byte.
+     * @param end   The first byte after the text.
+     * @return The decoded text.
+     */
+    private String decode(int start, int end)
+    {
+
+        if (buffer.hasArray())
+        {
+            return new String(buffer.array(), buffer.arrayOffset() + start, end - start, StandardCharsets.UTF_8);
+        }
+        if (bytes.length < end - start)
+        {
+            bytes = new byte[Math.max(end - start, bytes.length * 2)];
+        }
+        for (int i = start; i < end; i++)
+        {
+            bytes[i - start] = at(i);
+        }
+        return new String(bytes, 0, end - start, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * This decodes the given bytes and replaces the escapes of the properties format. A backslash at the end of a line
+     * continues the text after the whitespace at the start of the next line.
+     *
+     * @param start The first byte.
+     * @param end   The first byte after the text.
+     * @return The decoded text.
+     */
+    private String unescape(int start, int end)
+    {
+
+        String text = decode(start, end);
+        StringBuilder result = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++)
+        {
+            char current = text.charAt(i);
+            if (current != '\\' || i + 1 >= text.length())
+            {
+                result.append(current);
+                continue;
+            }
+            current = text.charAt(++i);
+            switch (current)
+            {
+                case 't':
+                    result.append('\t');
+                    break;
+                case 'n':
+                    result.append('\n');
+                    break;
+                case 'r':
+                    result.append('\r');
+                    break;
+                case 'f':
+                    result.append('\f');
+                    break;
+                case 'u':
+                    if (i + 4 >= text.length())
+                    {
+                        throw new IllegalArgumentException("Malformed \\uxxxx encoding.");
+                    }
+                    result.append((char) Integer.parseInt(text.substring(i + 1, i + 5), 16));
+                    i += 4;
+                    break;
+                case '\r':
+                case '\n':
+                    if (current == '\r' && i + 1 < text.length() && text.charAt(i + 1) == '\n')
+                    {
+                        i++;
+                    }
+                    while (i + 1 < text.length() && isWhitespace(text.charAt(i + 1)))
+                    {
+                        i++;
+                    }
+                    break;
+                default:
+                    result.append(current);
+                    break;
+            }
+        }
+        return result.toString();
+    }
+
+    private byte at(int position)
+    {
+
+        return array != null ? array[arrayOffset + position] : buffer.get(position);
+    }
+
+    private int skipWhitespace(int position, int limit)
+    {
+
+        while (position < limit && isWhitespace(at(position)))
+        {
+            position++;
+        }
+        return position;
+    }
+
+    private int nextLine(int position, int limit)
+    {
+
+        while (position < limit && at(position) != '\n' && at(position) != '\r')
+        {
+            position++;
+        }
+        return position;
+    }
+
+    private static boolean isWhitespace(int current)
+    {
+
+        return current == ' ' || current == '\t' || current == '\f';
+    }
+
+    /**
+     * This returns the same hash for a name as {@link #hash(int, int)} for the name in ASCII bytes.
+     *
+     * @param name The name.
+     * @return The hash of the name.
+     */
+    private static int hash(String name)
+    {
+
+        int hash = 1;
+        for (int i = 0; i < name.length(); i++)
+        {
+            hash = 31 * hash + name.charAt(i);
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private int hash(int start, int end)
+    {
+
+        int hash = 1;
+        for (int i = start; i < end; i++)
+        {
+            hash = 31 * hash + at(i);
+        }
+        return hash ^ (hash >>> 16);
+    }
+}
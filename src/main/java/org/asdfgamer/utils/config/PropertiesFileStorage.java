@@ -3,10 +3,21 @@ package org.asdfgamer.utils.config;
 import org.asdfgamer.utils.other.Utils;
 
 import java.io.*;
-import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -44,14 +55,47 @@ public class PropertiesFileStorage implements SettingsStorage
      * This indicates what implementation should be used to save the Properties:
      * true = {@link org.asdfgamer.utils.config.Properties}.
      * false = {@link java.util.Properties}.
-     * This implementation is only used while saving. To load properties this class always uses {@link java.util.Properties}
+     * This implementation is only used while saving. To load properties this class always uses {@link PropertiesFileReader}
      */
     private final boolean MY_PROPERTIES;
 
     /**
-     * This shows if the Settings should be searched for changes, or if all settings should be saved.
+     * This shows if only the classes with changed Settings should be saved, or if all settings should be saved.
      */
-    private boolean checkForChanges = false;
+    private boolean checkForChanges = true;
+
+    /**
+     * This are the number of changes of every class (see {@link SettingClassInfo#getChanges(String)}) at the time the
+     * class was saved or loaded the last time by this storage.
+     */
+    private final Map<String, Integer> storedChanges = new ConcurrentHashMap<>();
+
+    /**
+     * This is the number of files that weren't written, because no Setting of their class changed.
+     */
+    private final AtomicInteger skippedFiles = new AtomicInteger();
+
+    /**
+     * This decides when the saved files get forced to the disk.
+     */
+    private final FsyncPolicy FSYNC_POLICY;
+
+    /**
+     * This are the paths to the files of the classes. A path gets checked and the file gets created only the first
+     * time it is needed and again after writing or reading the file failed.
+     */
+    private final Map<String, String> paths = new ConcurrentHashMap<>();
+
+    /**
+     * This is the number of times a path was checked on the disk by {@link #getPath(String)}.
+     */
+    private final AtomicInteger resolvedPaths = new AtomicInteger();
+
+    /**
+     * This is the number of Settings whose value changed during the last call of {@link #load(List)} or
+     * {@link #loadAll(List, int)}.
+     */
+    private final AtomicInteger changedKeys = new AtomicInteger();
 
     /**
      * This creates a new SettingsStorage for the given Program name.
@@ -64,25 +108,45 @@ public class PropertiesFileStorage implements SettingsStorage
         this.STD_EXTENSION = SettingsConfig.fileEnding.getSETTING();
         this.PROGRAM_NAME = programName;
         this.MY_PROPERTIES = true;
+        this.FSYNC_POLICY = FsyncPolicy.ALWAYS;
     }
 
     /**
      * This creates a new SettingsStorage with the given arguments.
      *
      * @param programName         Tha name of the program that saves the settings.
-     * @param dontCheckForChanges This shows if the Settings should only be saved if they changed.
-     *                            By default this is true.
+     * @param dontCheckForChanges If this is true all Settings get saved, even if no Setting of their class changed.
+     *                            By default this is false.
      * @param useBetterProperties This is used to choose the way the Properties get saved into the file. If this is true it
      *                            uses a implementation of the Properties that can write comments, and a few other handy
      *                            things. If it is false it uses the default implementation to save the properties.
      */
     @SuppressWarnings("SpellCheckingInspection")
     public PropertiesFileStorage(String programName, boolean dontCheckForChanges, boolean useBetterProperties)
+    {
+        this(programName, dontCheckForChanges, useBetterProperties, FsyncPolicy.ALWAYS);
+    }
+
+    /**
+     * This creates a new SettingsStorage with the given arguments.
+     *
+     * @param programName         Tha name of the program that saves the settings.
+     * @param dontCheckForChanges If this is true all Settings get saved, even if no Setting of their class changed.
+     *                            By default this is false.
+     * @param useBetterProperties This is used to choose the way the Properties get saved into the file. If this is true it
+     *                            uses a implementation of the Properties that can write comments, and a few other handy
+     *                            things. If it is false it uses the default implementation to save the properties.
+     * @param fsyncPolicy         This decides when the saved files get forced to the disk. By default this is
+     *                            {@link FsyncPolicy#ALWAYS}.
+     */
+    @SuppressWarnings("SpellCheckingInspection")
+    public PropertiesFileStorage(String programName, boolean dontCheckForChanges, boolean useBetterProperties, FsyncPolicy fsyncPolicy)
     {
         this.STD_EXTENSION = SettingsConfig.fileEnding.getSETTING();
         this.PROGRAM_NAME = programName;
         this.checkForChanges = !dontCheckForChanges;
         this.MY_PROPERTIES = useBetterProperties;
+        this.FSYNC_POLICY = fsyncPolicy;
     }
 
     /**
@@ -93,23 +157,122 @@ public class PropertiesFileStorage implements SettingsStorage
      */
     @Override
     public boolean load(List<Setting> settings)
+    {
+
+        changedKeys.set(0);
+        return loadClasses(settings);
+    }
+
+    /**
+     * This loads the Settings of all classes in the List, one class after the other.
+     *
+     * @param settings This are all settings that should be loaded as List.
+     * @return false, if there was an error while loading, otherwise true.
+     */
+    private boolean loadClasses(List<Setting> settings)
     {
 
         boolean result = true;
         Map<String, List<Setting>> classes = sortSettingsInClasses(settings);
         for (Map.Entry<String, List<Setting>> settingsSortedInClasses : classes.entrySet())
         {
-            String name = settingsSortedInClasses.getKey().substring(settingsSortedInClasses.getKey().lastIndexOf('.') + 1);
-            String path = createFile(name);
-
-            result = loadSettingProperties(settingsSortedInClasses.getValue(), path) && result;
+            result = loaded(settingsSortedInClasses.getKey(), loadSettingProperties(settingsSortedInClasses.getKey(), settingsSortedInClasses.getValue())) && result;
 
         }
         return result;
     }
 
     /**
-     * This method lets you save Settings.
+     * This loads the Settings of many classes. The files get read and parsed by up to the given number of threads at
+     * the same time. The Settings get their values afterwards on the calling thread, in the order of the given List, so
+     * the listeners of the Settings get informed in the same order and on the same thread as with
+     * {@link #load(List)}.
+     *
+     * @param settingsOfClasses This are the Settings that should be loaded, one List for every class.
+     * @param threads           This is the maximal number of threads that read the files.
+     * @return false, if there was an error while loading, otherwise true.
+     */
+    @Override
+    public boolean loadAll(List<List<Setting>> settingsOfClasses, int threads)
+    {
+
+        changedKeys.set(0);
+        List<Map.Entry<String, List<Setting>>> classes = new ArrayList<>();
+        for (List<Setting> settings : settingsOfClasses)
+        {
+            classes.addAll(sortSettingsInClasses(settings).entrySet());
+        }
+        if (threads <= 1 || classes.size() <= 1)
+        {
+            boolean result = true;
+            for (List<Setting> settings : settingsOfClasses)
+            {
+                result = loadClasses(settings) && result;
+            }
+            return result;
+        }
+        Path folder = Paths.get(Utils.getConfigFolder(PROGRAM_NAME));
+        if (!Utils.isFolder(folder))
+        {
+            Utils.createFolder(folder);
+        }
+
+        ExecutorService readers = Executors.newFixedThreadPool(Math.min(threads, classes.size()), runnable ->
+        {
+            Thread thread = new Thread(runnable, "PropertiesFileStorage-load");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try
+        {
+            List<Future<String[]>> files = new ArrayList<>(classes.size());
+            for (Map.Entry<String, List<Setting>> settingsSortedInClasses : classes)
+            {
+                files.add(readers.submit(() -> PropertiesFileReader.read(getPath(settingsSortedInClasses.getKey()), settingsSortedInClasses.getValue())));
+            }
+            boolean result = true;
+            for (int i = 0; i < classes.size(); i++)
+            {
+                result = loaded(classes.get(i).getKey(), loadSettingProperties(classes.get(i).getKey(), classes.get(i).getValue(), files.get(i))) && result;
+            }
+            return result;
+        } catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally
+        {
+            readers.shutdownNow();
+        }
+    }
+
+    /**
+     * This notes if the class was loaded completely, so that the next save knows if the file is up to date.
+     *
+     * @param className  The name of the class.
+     * @param successful true, if all Settings of the class were loaded.
+     * @return The value of successful.
+     */
+    private boolean loaded(String className, boolean successful)
+    {
+
+        if (successful)
+        {
+            storedChanges.put(className, SettingClassInfo.getChanges(className));
+        } else
+        {
+            storedChanges.remove(className);
+        }
+        return successful;
+    }
+
+    /**
+     * This method lets you save Settings. The file of a class only gets written if a Setting of the class changed since
+     * the last time this storage saved or completely loaded the class, unless this storage was created to save all
+     * Settings.
+     * <p>
+     * Every file gets written to a temporary file first, which then replaces the file, so a crash while saving never
+     * leaves a half written file behind.
      *
      * @param settings This are all settings that should be saved as List.
      * @return true, if saving the settings was successful, otherwise false.
@@ -119,37 +282,145 @@ public class PropertiesFileStorage implements SettingsStorage
     {
 
         boolean result = true;
+        AtomicFileWriter writer = new AtomicFileWriter(FSYNC_POLICY);
+        Map<String, Integer> savedChanges = new HashMap<>();
         Map<String, List<Setting>> classes = sortSettingsInClasses(settings);
         for (Map.Entry<String, List<Setting>> settingsSortedInClasses : classes.entrySet())
         {
-            String name = settingsSortedInClasses.getKey().substring(settingsSortedInClasses.getKey().lastIndexOf('.') + 1);
-            String path = createFile(name);
-
-            if (MY_PROPERTIES)
+            Integer changes = SettingClassInfo.getChanges(settingsSortedInClasses.getKey());
+            if (checkForChanges && changes.equals(storedChanges.get(settingsSortedInClasses.getKey())))
+            {
+                LOG.fine(bundle.getString("nothingChanged"));
+                skippedFiles.incrementAndGet();
+                continue;
+            }
+            boolean saved = save(settingsSortedInClasses.getKey(), settingsSortedInClasses.getValue(), writer);
+            if (!saved)//The file or its folder may have been deleted, so the path gets checked again.
+            {
+                paths.remove(settingsSortedInClasses.getKey());
+                saved = save(settingsSortedInClasses.getKey(), settingsSortedInClasses.getValue(), writer);
+            }
+            if (saved)
             {
-                result = saveMYSettingProperties(settingsSortedInClasses.getValue(), path) && result;
+                savedChanges.put(settingsSortedInClasses.getKey(), changes);
             } else
             {
-                result = saveSettingsProperty(settingsSortedInClasses.getValue(), path) && result;
+                result = false;
             }
         }
+        try
+        {
+            writer.commit();
+        } catch (IOException e)
+        {
+            LOG.log(Level.WARNING, bundle.getString("problemWhileWriting") + PROGRAM_NAME, e);
+            paths.keySet().removeAll(savedChanges.keySet());
+            return false;
+        }
+        storedChanges.putAll(savedChanges);
         return result;
 
     }
 
+    /**
+     * This starts to watch the configuration folder of the program. If the file of one of the given classes gets
+     * changed on the disk, e.g. by a user with an editor, the Settings of this class get loaded again. Only the
+     * listeners of Settings whose value changed get informed.
+     * <p>
+     * A file only gets loaded after it didn't change for the given time, because many editors and
+     * {@link AtomicFileWriter} write a file in more than one step. The Settings get loaded and their listeners get
+     * informed on the thread of the watcher.
+     *
+     * @param settings This are the Settings that should be loaded again after their file changed.
+     * @param debounce This is how long a file must not change before it gets loaded.
+     * @param unit     The unit of debounce.
+     * @return The watcher, which has to be closed to stop watching.
+     * @throws IOException If the folder couldn't be watched.
+     */
+    public PropertiesFileWatcher watch(List<Setting> settings, long debounce, TimeUnit unit) throws IOException
+    {
+
+        Map<String, List<Setting>> files = new HashMap<>();
+        for (Map.Entry<String, List<Setting>> settingsSortedInClasses : sortSettingsInClasses(settings).entrySet())
+        {
+            files.put(withExtension(getSimpleName(settingsSortedInClasses.getKey())), settingsSortedInClasses.getValue());
+        }
+        return new PropertiesFileWatcher(Paths.get(Utils.getConfigFolder(PROGRAM_NAME)), files, debounce, unit);
+    }
+
+    /**
+     * This returns how many files weren't written by {@link #save(List)}, because no Setting of their class changed.
+     *
+     * @return The number of skipped files.
+     */
+    public int getSkippedFiles()
+    {
+
+        return skippedFiles.get();
+    }
+
+    /**
+     * This returns the number of Settings whose value changed during the last call of {@link #load(List)} or
+     * {@link #loadAll(List, int)}. Settings whose value in the file is the same as their current value don't get set
+     * again, so loading a file that didn't change costs little more than reading it.
+     *
+     * @return The number of changed Settings.
+     */
+    public int getChangedKeys()
+    {
+
+        return changedKeys.get();
+    }
+
+    /**
+     * This returns how many times a path to a file was checked on the disk. Every class needs this once and again after
+     * its file couldn't be written or read.
+     *
+     * @return The number of checked paths.
+     */
+    int getResolvedPaths()
+    {
+
+        return resolvedPaths.get();
+    }
+
+    /**
+     * This saves the Settings of one class into its file.
+     *
+     * @param className The absolute name of the class.
+     * @param settings  The Settings of the class.
+     * @param writer    The writer that writes the file.
+     * @return true, if the settings got saved, otherwise false.
+     */
+    private boolean save(String className, List<Setting> settings, AtomicFileWriter writer)
+    {
+
+        String path = getPath(className);
+        if (path == null)
+        {
+            return false;
+        }
+        if (MY_PROPERTIES)
+        {
+            return saveMYSettingProperties(settings, path, writer);
+        }
+        return saveSettingsProperty(settings, path, writer);
+    }
+
     /**
      * This saves the given list of properties to the given Path with my own Properties implementation that can save
      * comments and extracts the captions from the classes and adds them to the file.
      * @param value The List with all Settings that should be saved.
      * @param path The Path to the file.
+     * @param writer The writer that writes the file.
      * @return true, if the settings got saved, otherwise false.
      */
-    private boolean saveMYSettingProperties(List<Setting> value, String path)
+    private boolean saveMYSettingProperties(List<Setting> value, String path, AtomicFileWriter writer)
     {
 
         org.asdfgamer.utils.config.Properties myProperties = new org.asdfgamer.utils.config.Properties(path, PROGRAM_NAME);
         myProperties.add(value);
-        return myProperties.save();
+        return myProperties.save(writer);
     }
 
     /**
@@ -157,25 +428,16 @@ public class PropertiesFileStorage implements SettingsStorage
      *
      * @param settings This are all settings that should be saved as List.
      * @param path     This is the Path to the Config-file that should be used.
+     * @param writer   The writer that writes the file.
      * @return true, if there was no Problem during saving otherwise false.
      */
-    private boolean saveSettingsProperty(List<Setting> settings, String path)
+    private boolean saveSettingsProperty(List<Setting> settings, String path, AtomicFileWriter writer)
     {
 
-        if (checkForChanges)
-        {
-            if (noChanges(settings))
-            {
-                return true;
-            }
-        }
-
         Properties properties = new Properties();
-        OutputStream configFile = null;
 
         try
         {
-            configFile = new FileOutputStream(path);
             for (Setting setting : settings)
             {
                 if (!setting.isInternalValue())
@@ -190,154 +452,265 @@ public class PropertiesFileStorage implements SettingsStorage
                 }
             }
 
-            properties.store(new OutputStreamWriter(configFile, StandardCharsets.UTF_8), bundle.getString("fileHeader") + PROGRAM_NAME + "'.");
+            StringWriter text = new StringWriter();
+            properties.store(text, bundle.getString("fileHeader") + PROGRAM_NAME + "'.");
+            writer.write(path, text.toString());
         } catch (IOException e)
         {
             LOG.log(Level.WARNING, bundle.getString("problemOpen"), e);
             return false;
-        } finally
-        {
-            if (configFile != null)
-            {
-                try
-                {
-                    configFile.close();
-                } catch (IOException e)
-                {
-                    LOG.log(Level.SEVERE, bundle.getString("problemClose"), e);
-                }
-            }
         }
         return true;
     }
 
     /**
-     * This checks if there was no change in the whole Map.
+     * This Method searches for  a File with the given Name. If it exists it returns the path ro it and if it doesn't
+     * it attempts to create the file. If this is successful this will also return the path and if it can't create the
+     * file it returns null.
      *
-     * @param settings This are all settings that should be checked as List.
-     * @return true, if there was no Change, otherwise false.
+     * @param fileName The name of the file that should be created.
+     * @return The path to the config file or 'null' if the file doesn't exists and can't be created.
      */
-    private boolean noChanges(List<Setting> settings)
+    @SuppressWarnings("BooleanMethodIsAlwaysInverted")
+    private String createFile(String fileName)
     {
+        return Utils.getConfigFile(PROGRAM_NAME, withExtension(fileName));
+    }
 
-        boolean settingChanged = false;
-
-        for (Setting setting : settings)
-        {
-            if (setting.getSettingChanged())
-            {
-                settingChanged = true;
-            }
-        }
+    /**
+     * This adds the standard extension to the name of the file, if it has no extension.
+     *
+     * @param fileName The name of the file.
+     * @return The name of the file with an extension.
+     */
+    private String withExtension(String fileName)
+    {
 
-        if (!settingChanged)
+        if (fileName.contains("."))//Extension is in filename
         {
-            LOG.info(bundle.getString("nothingChanged"));
-            return true;
+            return fileName;
         }
-        return false;
+        return fileName + STD_EXTENSION;
     }
 
-
     /**
-     * This Method searches for  a File with the given Name. If it exists it returns the path ro it and if it doesn't
-     * it attempts to create the file. If this is successful this will also return the path and if it can't create the
-     * file it returns null.
+     * This returns the path to the file of the given class and creates the file, if it doesn't exist. The path only
+     * gets checked on the disk the first time, afterwards it is taken from {@link #paths}.
      *
-     * @param fileName The name of the file that should be created.
+     * @param className The absolute name of the class.
      * @return The path to the config file or 'null' if the file doesn't exists and can't be created.
      */
-    @SuppressWarnings("BooleanMethodIsAlwaysInverted")
-    private String createFile(String fileName)
+    private String getPath(String className)
     {
-        if (fileName.contains("."))//Extension is in filename
+
+        String path = paths.get(className);
+        if (path == null)
         {
-            return Utils.getConfigFile(PROGRAM_NAME, fileName);
+            resolvedPaths.incrementAndGet();
+            path = createFile(getSimpleName(className));
+            if (path != null)
+            {
+                paths.put(className, path);
+            }
         }
-        return Utils.getConfigFile(PROGRAM_NAME, fileName + STD_EXTENSION);
+        return path;
+    }
+
+    /**
+     * This returns the name of the class without its package, which is the name of its file without the extension.
+     *
+     * @param className The absolute name of the class.
+     * @return The name of the class without its package.
+     */
+    private static String getSimpleName(String className)
+    {
+
+        return className.substring(className.lastIndexOf('.') + 1);
     }
 
     /**
      * This loads all SettingsProperties from a Class.
      * All Settings that are given must be from the same class.
      *
-     * @param settings This are all settings that should be loaded as List.
-     * @param path     The path to the file.
+     * @param className The absolute name of the class.
+     * @param settings  This are all settings that should be loaded as List.
      * @return true, if the settings got loaded successful.
      */
-    private boolean loadSettingProperties(List<Setting> settings, String path)
+    private boolean loadSettingProperties(String className, List<Setting> settings)
     {
 
-        boolean result = true;
-        Properties properties = new Properties();
-        InputStream configFile = null;
+        try
+        {
+            return loadSettingProperties(settings, PropertiesFileReader.read(getPath(className), settings), changedKeys);
+        } catch (IOException | IllegalArgumentException e)
+        {
+            return loadFailed(className, e);
+        }
+    }
+
+    /**
+     * This loads all SettingsProperties from a Class like {@link #loadSettingProperties(String, List)}, but the file
+     * was already read by another thread.
+     *
+     * @param className The absolute name of the class.
+     * @param settings  This are all settings that should be loaded as List.
+     * @param file      The values from the file, see {@link PropertiesFileReader#read(String, List)}.
+     * @return true, if the settings got loaded successful.
+     * @throws InterruptedException If the thread got interrupted while waiting for the file.
+     */
+    private boolean loadSettingProperties(String className, List<Setting> settings, Future<String[]> file) throws InterruptedException
+    {
 
-        //remove change listener
-        for (Setting setting : settings)
+        try
+        {
+            return loadSettingProperties(settings, file.get(), changedKeys);
+        } catch (IllegalArgumentException e)
+        {
+            return loadFailed(className, e);
+        } catch (ExecutionException e)
         {
-            if (!setting.isInternalValue())
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException || cause instanceof IllegalArgumentException)
             {
-                setting.removeListener(SettingsListener.getSettingChange(setting));
+                return loadFailed(className, (Exception) cause);
             }
+            if (cause instanceof Error)
+            {
+                throw (Error) cause;
+            }
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new IllegalStateException(cause);
         }
-        //Load the settings
-        try
+    }
+
+    /**
+     * This logs that the file of a class couldn't be loaded. If the file couldn't be read, its path gets checked again
+     * the next time. If its content is invalid (e.g. a malformed unicode escape or a value that doesn't fit the type
+     * of its Setting) the class gets marked as having problems with loading.
+     *
+     * @param className The absolute name of the class.
+     * @param e         The reason, an {@link IOException} or an {@link IllegalArgumentException}.
+     * @return false.
+     */
+    private boolean loadFailed(String className, Exception e)
+    {
+
+        LOG.log(Level.WARNING, bundle.getString("problemLoadFile"), e);
+        if (e instanceof IOException)
         {
-            configFile = new FileInputStream(path);
-            properties.load(configFile);
+            paths.remove(className);
+        } else
+        {
+            SettingClassInfo.setProblemsWithLoading(className);
+        }
+        return false;
+    }
+
+    /**
+     * This gives all Settings the values from the file. A Setting only gets set, if the value from the file differs
+     * from its current value, so unchanged Settings don't get converted again.
+     * All Settings that are given must be from the same class.
+     *
+     * @param settings    This are all settings that should be loaded as List.
+     * @param values      The values from the file of the class with the same index as the Settings, see
+     *                    {@link PropertiesFileReader#read(String, List)}.
+     * @param changedKeys This gets increased for every Setting whose value changed.
+     * @return true, if all settings were in the file.
+     */
+    static boolean loadSettingProperties(List<Setting> settings, String[] values, AtomicInteger changedKeys)
+    {
 
+        boolean result = true;
+        int i = 0;
+        Setting.setLoading(true);
+        try
+        {
             for (Setting setting : settings)
             {
-                if (properties.getProperty(setting.getSettingName()) == null && !setting.isInternalValue())
-                {
-                    result = false;
-                    LOG.warning(bundle.getString("problemLoadSetting_start") + " '" + setting.getSettingName() + "' " + bundle.getString("problemLoadSetting_end"));
-                    SettingClassInfo.setProblemsWithLoading(setting.getClassName());
-                }
-                if (setting.getType().equals(SettingsPropertyTypes.String))
+                String value = values[i++];
+                if (value == null)
                 {
-                    String longtext = properties.getProperty(setting.getSettingName(), setting.getDefaultValue());
-                    if (longtext.startsWith("\"") && longtext.endsWith("\""))
+                    if (!setting.isInternalValue())
                     {
-                        longtext = longtext.substring(1, longtext.length() - 1);//remove '"'
+                        result = false;
+                        LOG.warning(bundle.getString("problemLoadSetting_start") + " '" + setting.getSettingName() + "' " + bundle.getString("problemLoadSetting_end"));
+                        SettingClassInfo.setProblemsWithLoading(setting.getClassName());
                     }
-                    setting.set(longtext);
-                } else
-                {
-                    String value = properties.getProperty(setting.getSettingName(), setting.getDefaultValue());
-                    setting.set(value);
+                    value = setting.getDefaultValue();
                 }
+                setValue(setting, value, changedKeys);
                 SettingClassInfo.setSettingsLoaded(setting.getClassName());//This gets called to much -> performance loss
             }
-        } catch (IOException e)
-        {
-            LOG.log(Level.WARNING, bundle.getString("problemLoadFile"), e);
-            result = false;
         } finally
         {
-            //Close the setting file
-            if (configFile != null)
+            Setting.setLoading(false);
+        }
+        return result;
+    }
+
+    /**
+     * This gives the Settings the values from a file that changed on the disk. Unlike
+     * {@link #loadSettingProperties(List, String[], AtomicInteger)} only the Settings that are in the file get set, so
+     * a file that gets read while an editor writes it doesn't reset the other Settings to their default values. The
+     * changes don't count as changes of the class (see {@link SettingClassInfo#getChanges(String)}), because the file
+     * already contains them.
+     * All Settings that are given must be from the same class.
+     *
+     * @param settings    This are all settings that should be loaded as List.
+     * @param values      The values from the file of the class with the same index as the Settings, see
+     *                    {@link PropertiesFileReader#read(String, List)}.
+     * @param changedKeys This gets increased for every Setting whose value changed.
+     */
+    static void reloadSettingProperties(List<Setting> settings, String[] values, AtomicInteger changedKeys)
+    {
+
+        int i = 0;
+        Setting.setLoading(true);
+        Setting.setReloading(true);
+        try
+        {
+            for (Setting setting : settings)
             {
-                try
-                {
-                    configFile.close();
-                } catch (IOException e)
+                String value = values[i++];
+                if (value != null)
                 {
-                    LOG.log(Level.SEVERE, bundle.getString("problemClose"), e);
+                    setValue(setting, value, changedKeys);
                 }
             }
+        } finally
+        {
+            Setting.setReloading(false);
+            Setting.setLoading(false);
         }
+    }
+
+    /**
+     * This sets the value from a file, if it differs from the current value of the Setting.
+     *
+     * @param setting     The Setting.
+     * @param value       The value from the file, Strings may still be in quotes, or null if there is no value.
+     * @param changedKeys This gets increased, if the value of the Setting changed.
+     */
+    private static void setValue(Setting setting, String value, AtomicInteger changedKeys)
+    {
 
-        //add the change listener again
-        for (Setting setting : settings)
+        if (value == null)//not in the file and no default value
+        {
+            return;
+        }
+        if (setting.getType().equals(SettingsPropertyTypes.String) && value.length() > 1 && value.startsWith("\"") && value.endsWith("\""))
         {
-            if (!setting.isInternalValue())
+            value = value.substring(1, value.length() - 1);//remove '"'
+        }
+        SettingValues current = setting.getSnapshot();
+        String oldValue = current.length() > 0 ? current.getString(0) : null;
+        if (!Objects.equals(value, oldValue))
+        {
+            setting.setRaw(value, 0);
+            if (!Objects.equals(setting.getSnapshot().getString(0), oldValue))
             {
-                setting.addListener(SettingsListener.getSettingChange(setting));
+                changedKeys.incrementAndGet();
             }
         }
-
-        return result;
     }
 
 }
@@ -0,0 +1,249 @@
+package org.asdfgamer.utils.config;
+
+import org.asdfgamer.utils.other.Utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+import static java.util.logging.Logger.getLogger;
+import static org.asdfgamer.utils.config.internal.SettingUtils.bundle;
+
+/**
+ * This watches the configuration folder of a {@link PropertiesFileStorage} and loads the Settings of a class again
+ * after its file changed. It gets created by {@link PropertiesFileStorage#watch(List, long, TimeUnit)}.
+ * <p>
+ * All files get watched by one background thread, which also loads the Settings and informs their listeners. A file
+ * gets loaded once it didn't change for the debounce time, so a file that gets written in many steps is only loaded
+ * once. Only the Settings that are in the file get loaded, so a file that is read while it gets written can't reset the
+ * other Settings. Files that were saved by this program don't get loaded. On systems without native file events (e.g.
+ * macOS) the {@link WatchService} checks the folder only every few seconds.
+ *
+ * @author ASDFGamer
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public class PropertiesFileWatcher implements AutoCloseable
+{
+
+    /**
+     * The used Logger.
+     */
+    private final static Logger LOG = getLogger(PropertiesFileWatcher.class.getName());
+
+    /**
+     * This is the watched folder.
+     */
+    private final Path FOLDER;
+
+    /**
+     * This are the Settings of every watched file, the key is the name of the file.
+     */
+    private final Map<String, List<Setting>> FILES;
+
+    /**
+     * This is how long a file must not change before it gets loaded, in nanoseconds.
+     */
+    private final long DEBOUNCE;
+
+    private final WatchService watchService;
+
+    private final Thread thread;
+
+    /**
+     * This are the files that changed and the time when they get loaded, if they don't change again. This is only used
+     * by {@link #thread}.
+     */
+    private final Map<String, Long> deadlines = new HashMap<>();
+
+    /**
+     * This is the number of times a file was loaded again.
+     */
+    private final AtomicInteger reloads = new AtomicInteger();
+
+    /**
+     * This is the number of Settings whose value changed by loading a file again.
+     */
+    private final AtomicInteger changedKeys = new AtomicInteger();
+
+    /**
+     * This starts to watch the folder.
+     *
+     * @param folder   The folder with the files.
+     * @param files    The Settings of every file, the key is the name of the file.
+     * @param debounce This is how long a file must not change before it gets loaded.
+     * @param unit     The unit of debounce.
+     * @throws IOException If the folder couldn't be watched.
+     */
+    PropertiesFileWatcher(Path folder, Map<String, List<Setting>> files, long debounce, TimeUnit unit) throws IOException
+    {
+
+        this.FOLDER = folder;
+        this.FILES = files;
+        this.DEBOUNCE = unit.toNanos(debounce);
+        if (!Utils.isFolder(folder))
+        {
+            Utils.createFolder(folder);
+        }
+        this.watchService = folder.getFileSystem().newWatchService();
+        folder.register(watchService, ENTRY_CREATE, ENTRY_MODIFY);
+        this.thread = new Thread(this::watch, "PropertiesFileWatcher");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * This returns how many times a file was loaded again, since this watcher was started.
+     *
+     * @return The number of loaded files.
+     */
+    public int getReloads()
+    {
+
+        return reloads.get();
+    }
+
+    /**
+     * This returns how many Settings got a new value by loading their file again, since this watcher was started.
+     *
+     * @return The number of changed Settings.
+     */
+    public int getChangedKeys()
+    {
+
+        return changedKeys.get();
+    }
+
+    /**
+     * This stops watching the folder and waits until a file that gets loaded at the moment is loaded.
+     */
+    @Override
+    public void close()
+    {
+
+        try
+        {
+            watchService.close();
+            if (Thread.currentThread() != thread)
+            {
+                thread.join();
+            }
+        } catch (IOException e)
+        {
+            LOG.log(Level.FINE, e.getMessage(), e);
+        } catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * This waits for changed files and loads them after their debounce time. This runs until the watcher gets closed.
+     */
+    private void watch()
+    {
+
+        try
+        {
+            while (true)
+            {
+                WatchKey key;
+                if (deadlines.isEmpty())
+                {
+                    key = watchService.take();
+                } else
+                {
+                    key = watchService.poll(Collections.min(deadlines.values()) - System.nanoTime(), TimeUnit.NANOSECONDS);
+                }
+                if (key != null)
+                {
+                    for (WatchEvent<?> event : key.pollEvents())
+                    {
+                        changed(event);
+                    }
+                    if (!key.reset())
+                    {
+                        LOG.warning(bundle.getString("watchStopped") + FOLDER);
+                        return;
+                    }
+                }
+                reloadFiles();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e)
+        {
+            LOG.fine(bundle.getString("watchStopped") + FOLDER);
+        }
+    }
+
+    /**
+     * This (re)starts the debounce time of the file of the event. If events got lost, all files get loaded.
+     *
+     * @param event The event of the WatchService.
+     */
+    private void changed(WatchEvent<?> event)
+    {
+
+        long deadline = System.nanoTime() + DEBOUNCE;
+        if (event.kind() == OVERFLOW)
+        {
+            for (String file : FILES.keySet())
+            {
+                deadlines.put(file, deadline);
+            }
+        } else if (FILES.containsKey(event.context().toString()))
+        {
+            deadlines.put(event.context().toString(), deadline);
+        }
+    }
+
+    /**
+     * This loads all files whose debounce time is over.
+     */
+    private void reloadFiles()
+    {
+
+        long now = System.nanoTime();
+        Iterator<Map.Entry<String, Long>> iterator = deadlines.entrySet().iterator();
+        while (iterator.hasNext())
+        {
+            Map.Entry<String, Long> deadline = iterator.next();
+            if (deadline.getValue() - now <= 0)
+            {
+                iterator.remove();
+                reload(deadline.getKey());
+            }
+        }
+    }
+
+    /**
+     * This loads the Settings of the file again. Settings whose value didn't change and Settings that aren't in the file
+     * keep their value and don't inform their listeners. If the file contains what was saved the last time by an
+     * {@link AtomicFileWriter}, it doesn't get loaded, because the Settings may have changed since then.
+     *
+     * @param file The name of the file.
+     */
+    private void reload(String file)
+    {
+
+        List<Setting> settings = FILES.get(file);
+        try
+        {
+            Path path = FOLDER.resolve(file);
+            ByteBuffer content = PropertiesFileReader.readFile(path);
+            if (AtomicFileWriter.isLastWrite(path, content))
+            {
+                return;
+            }
+            PropertiesFileStorage.reloadSettingProperties(settings, PropertiesFileReader.read(content, settings), changedKeys);
+            reloads.incrementAndGet();
+        } catch (IOException | IllegalArgumentException e)
+        {
+            LOG.log(Level.WARNING, bundle.getString("problemLoadFile"), e);
+        }
+    }
+}
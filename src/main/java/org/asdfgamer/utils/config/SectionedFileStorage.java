@@ -0,0 +1,363 @@
+package org.asdfgamer.utils.config;
+
+import org.asdfgamer.utils.other.Utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.asdfgamer.utils.config.internal.SettingUtils.bundle;
+import static org.asdfgamer.utils.config.internal.SettingUtils.sortSettingsInClasses;
+
+/**
+ * This SettingsStorage saves the Settings of all classes in one file instead of one file for every class. Every class
+ * has its own section, that starts with the absolute name of the class in square brackets and contains the Settings
+ * in the same format as the files of {@link PropertiesFileStorage}:
+ * <pre>
+ * [org.example.GuiSettings]
+ * #The width of the window(standard Value = 800)
+ * width=800
+ * </pre>
+ * The file gets read once for all classes, so loading many classes doesn't need to open a file for every class.
+ * Saving only creates the sections of the classes that changed, the other sections get copied byte by byte from the
+ * old file.
+ * <p>
+ * Saving reads the whole file, changes the sections and writes it back. That's why saving and loading are synchronized,
+ * so that two threads that save different classes at the same time don't overwrite the section of the other class.
+ * This only works if all threads use the same SectionedFileStorage.
+ *
+ * @author ASDFGamer
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public class SectionedFileStorage implements SettingsStorage
+{
+
+    /**
+     * The used Logger.
+     */
+    private static final Logger LOG = Logger.getLogger(SectionedFileStorage.class.getName());
+
+    /**
+     * This is the name of the file in the configuration folder, without the file extension.
+     */
+    static final String FILE_NAME = "settings";
+
+    /**
+     * This is the name of the program that saves the Settings.
+     */
+    private final String PROGRAM_NAME;
+
+    /**
+     * This decides when the file gets forced to the disk.
+     */
+    private final FsyncPolicy FSYNC_POLICY;
+
+    /**
+     * This are the number of changes of every class (see {@link SettingClassInfo#getChanges(String)}) at the time the
+     * class was saved or loaded the last time by this storage.
+     */
+    private final Map<String, Integer> storedChanges = new ConcurrentHashMap<>();
+
+    /**
+     * This is the number of Settings whose value changed during the last call of {@link #load(List)} or
+     * {@link #loadAll(List, int)}.
+     */
+    private final AtomicInteger changedKeys = new AtomicInteger();
+
+    /**
+     * This creates a new SettingsStorage for the given Program name.
+     *
+     * @param programName The name of the program that saves the settings.
+     */
+    public SectionedFileStorage(String programName)
+    {
+
+        this(programName, FsyncPolicy.ALWAYS);
+    }
+
+    /**
+     * This creates a new SettingsStorage with the given arguments.
+     *
+     * @param programName The name of the program that saves the settings.
+     * @param fsyncPolicy This decides when the file gets forced to the disk. By default this is
+     *                    {@link FsyncPolicy#ALWAYS}.
+     */
+    public SectionedFileStorage(String programName, FsyncPolicy fsyncPolicy)
+    {
+
+        this.PROGRAM_NAME = programName;
+        this.FSYNC_POLICY = fsyncPolicy;
+    }
+
+    /**
+     * This loads all Settings from their sections of the file.
+     *
+     * @param settings This is a List with all Settings that should be loaded.
+     * @return true, if all Settings were in the file, otherwise false.
+     */
+    @Override
+    public boolean load(List<Setting> settings)
+    {
+
+        return loadAll(Collections.singletonList(settings), 1);
+    }
+
+    /**
+     * This loads the Settings of many classes. The file gets read only once for all classes, so this doesn't need more
+     * threads. If the section of a class is invalid, the class gets marked as having problems with loading and the
+     * other classes still get loaded.
+     *
+     * @param settingsOfClasses This are the Settings that should be loaded, one List for every class.
+     * @param threads           This isn't used.
+     * @return true, if all Settings were in the file, otherwise false.
+     */
+    @Override
+    public synchronized boolean loadAll(List<List<Setting>> settingsOfClasses, int threads)
+    {
+
+        changedKeys.set(0);
+        Map<String, ByteBuffer> sections = read();
+        boolean result = true;
+        for (List<Setting> settings : settingsOfClasses)
+        {
+            for (Map.Entry<String, List<Setting>> settingsSortedInClasses : sortSettingsInClasses(settings).entrySet())
+            {
+                List<Setting> settingsOfClass = settingsSortedInClasses.getValue();
+                ByteBuffer section = sections.get(settingsSortedInClasses.getKey());
+                boolean successful;
+                try
+                {
+                    String[] values = section != null ? PropertiesFileReader.read(section, settingsOfClass) : new String[settingsOfClass.size()];
+                    successful = PropertiesFileStorage.loadSettingProperties(settingsOfClass, values, changedKeys);
+                } catch (IllegalArgumentException e)//e.g. a malformed unicode escape or a value that doesn't fit the type
+                {
+                    LOG.log(Level.WARNING, bundle.getString("problemLoadFile"), e);
+                    SettingClassInfo.setProblemsWithLoading(settingsSortedInClasses.getKey());
+                    successful = false;
+                }
+                result = loaded(settingsSortedInClasses.getKey(), successful) && result;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * This saves the Settings into their sections of the file. The sections of other classes stay unchanged. The file
+     * only gets written if a Setting of the classes changed since they were saved or loaded the last time. The file
+     * gets read again while this storage is locked, so a save by another thread can't get lost.
+     *
+     * @param settings This is a List with all Settings that should be saved.
+     * @return true, if there was no problem while saving the Settings, otherwise false.
+     */
+    @Override
+    public synchronized boolean save(List<Setting> settings)
+    {
+
+        Map<String, List<Setting>> classes = new LinkedHashMap<>();
+        for (Map.Entry<String, List<Setting>> settingsSortedInClasses : sortSettingsInClasses(settings).entrySet())
+        {
+            Integer changes = SettingClassInfo.getChanges(settingsSortedInClasses.getKey());
+            if (changes.equals(storedChanges.get(settingsSortedInClasses.getKey())))
+            {
+                LOG.fine(bundle.getString("nothingChanged"));
+            } else
+            {
+                classes.put(settingsSortedInClasses.getKey(), settingsSortedInClasses.getValue());
+            }
+        }
+        if (classes.isEmpty())
+        {
+            return true;
+        }
+        return write(classes, read());
+    }
+
+    /**
+     * This returns the number of Settings whose value changed during the last call of {@link #load(List)} or
+     * {@link #loadAll(List, int)}.
+     *
+     * @return The number of changed Settings.
+     */
+    public int getChangedKeys()
+    {
+
+        return changedKeys.get();
+    }
+
+    /**
+     * This returns the path to the file with all sections.
+     *
+     * @return The path to the file.
+     */
+    public Path getPath()
+    {
+
+        return Paths.get(Utils.getConfigFolder(PROGRAM_NAME), FILE_NAME + SettingsConfig.fileEnding.getSETTING());
+    }
+
+    /**
+     * This notes if the class was loaded completely, so that the next save knows if the section is up to date.
+     *
+     * @param className  The name of the class.
+     * @param successful true, if all Settings of the class were loaded.
+     * @return The value of successful.
+     */
+    private boolean loaded(String className, boolean successful)
+    {
+
+        if (successful)
+        {
+            storedChanges.put(className, SettingClassInfo.getChanges(className));
+        } else
+        {
+            storedChanges.remove(className);
+        }
+        return successful;
+    }
+
+    /**
+     * This reads the file and returns the section of every class. A section starts after the line with the name of
+     * the class and ends before the line with the name of the next class. Big files get mapped into memory.
+     *
+     * @return The section of every class without the line with its name or an empty Map if there is no file.
+     */
+    private Map<String, ByteBuffer> read()
+    {
+
+        Path path = getPath();
+        if (!Files.isRegularFile(path))
+        {
+            return Collections.emptyMap();
+        }
+        ByteBuffer buffer;
+        try
+        {
+            buffer = PropertiesFileReader.readFile(path);
+        } catch (IOException e)
+        {
+            LOG.log(Level.WARNING, bundle.getString("problemLoadFile"), e);
+            return Collections.emptyMap();
+        }
+        Map<String, ByteBuffer> sections = new LinkedHashMap<>();
+        String className = null;
+        int sectionStart = 0;
+        int limit = buffer.limit();
+        int lineStart = 0;
+        while (lineStart < limit)
+        {
+            int lineEnd = lineStart;
+            while (lineEnd < limit && buffer.get(lineEnd) != '\n' && buffer.get(lineEnd) != '\r')
+            {
+                lineEnd++;
+            }
+            int nameEnd = lineEnd;
+            while (nameEnd > lineStart && Character.isWhitespace(buffer.get(nameEnd - 1)))
+            {
+                nameEnd--;
+            }
+            if (nameEnd - lineStart > 2 && buffer.get(lineStart) == '[' && buffer.get(nameEnd - 1) == ']')
+            {
+                if (className != null)
+                {
+                    sections.put(className, slice(buffer, sectionStart, lineStart));
+                }
+                byte[] name = new byte[nameEnd - lineStart - 2];
+                for (int i = 0; i < name.length; i++)
+                {
+                    name[i] = buffer.get(lineStart + 1 + i);
+                }
+                className = new String(name, StandardCharsets.UTF_8);
+                sectionStart = Math.min(lineEnd + 1, limit);
+            }
+            lineStart = lineEnd + 1;
+        }
+        if (className != null)
+        {
+            sections.put(className, slice(buffer, sectionStart, limit));
+        }
+        return sections;
+    }
+
+    /**
+     * This writes the file with the new sections of the given classes and the old sections of all other classes.
+     *
+     * @param classes  The Settings that should be written, sorted in their classes.
+     * @param sections The old sections.
+     * @return true, if the file was written, otherwise false.
+     */
+    private boolean write(Map<String, List<Setting>> classes, Map<String, ByteBuffer> sections)
+    {
+
+        Path path = getPath();
+        Map<String, ByteBuffer> newSections = new LinkedHashMap<>(sections);
+        Map<String, Integer> savedChanges = new HashMap<>();
+        for (Map.Entry<String, List<Setting>> settingsSortedInClasses : classes.entrySet())
+        {
+            savedChanges.put(settingsSortedInClasses.getKey(), SettingClassInfo.getChanges(settingsSortedInClasses.getKey()));
+            Properties properties = new Properties(path.toString(), PROGRAM_NAME);
+            properties.add(settingsSortedInClasses.getValue());
+            StringBuilder text = new StringBuilder();
+            properties.appendEntries(text);
+            newSections.put(settingsSortedInClasses.getKey(), ByteBuffer.wrap(text.toString().getBytes(StandardCharsets.UTF_8)));
+        }
+
+        byte[] header = ("#" + bundle.getString("fileHeader") + PROGRAM_NAME + "'.\n").getBytes(StandardCharsets.UTF_8);
+        List<byte[]> names = new ArrayList<>(newSections.size());
+        int size = header.length;
+        for (Map.Entry<String, ByteBuffer> section : newSections.entrySet())
+        {
+            byte[] name = ("[" + section.getKey() + "]\n").getBytes(StandardCharsets.UTF_8);
+            names.add(name);
+            size += name.length + section.getValue().remaining();
+        }
+        ByteBuffer file = ByteBuffer.allocate(size);
+        file.put(header);
+        int i = 0;
+        for (ByteBuffer section : newSections.values())
+        {
+            file.put(names.get(i++)).put(section.duplicate());
+        }
+        file.flip();
+
+        try
+        {
+            if (!Utils.isFolder(path.getParent()))
+            {
+                Utils.createFolder(path.getParent());
+            }
+            AtomicFileWriter writer = new AtomicFileWriter(FSYNC_POLICY);
+            writer.write(path.toString(), file);
+            writer.commit();
+        } catch (IOException e)
+        {
+            LOG.log(Level.WARNING, bundle.getString("problemWhileWriting") + path, e);
+            return false;
+        }
+        storedChanges.putAll(savedChanges);
+        return true;
+    }
+
+    /**
+     * This returns the given part of the buffer.
+     *
+     * @param buffer The buffer.
+     * @param start  The first byte of the part.
+     * @param end    The first byte after the part.
+     * @return The part as its own buffer.
+     */
+    private static ByteBuffer slice(ByteBuffer buffer, int start, int end)
+    {
+
+        ByteBuffer section = buffer.duplicate();
+        section.limit(end).position(start);
+        return section.slice();
+    }
+}
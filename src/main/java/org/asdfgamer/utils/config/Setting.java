@@ -1,21 +1,18 @@
 package org.asdfgamer.utils.config;
 
-import javafx.beans.InvalidationListener;
-import javafx.beans.WeakInvalidationListener;
-import javafx.beans.property.SimpleStringProperty;
-import javafx.beans.property.StringProperty;
-import javafx.beans.value.*;
-import javafx.collections.FXCollections;
-import javafx.collections.ListChangeListener;
-import javafx.collections.ObservableList;
 import org.asdfgamer.utils.config.annotations.SettingInfo;
 import org.asdfgamer.utils.config.internal.SettingUtils;
 import org.asdfgamer.utils.config.internal.SettingsInformation;
 import org.asdfgamer.utils.other.Convertible;
+import org.asdfgamer.utils.other.ParseResult;
 import org.asdfgamer.utils.other.Utils;
 
-import java.util.ArrayList;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.UnaryOperator;
 import java.util.logging.Logger;
 
 import static org.asdfgamer.utils.config.internal.SettingUtils.*;
@@ -23,12 +20,15 @@ import static org.asdfgamer.utils.other.Utils.*;
 
 /**
  * This is the Property in which the setting gets saved.
+ * <p>
+ * The values can be read and written by many threads at the same time. Every change publishes new immutable
+ * {@link SettingValues}, so readers never wait for a lock and never see a half written List.
  *
  * @author ASDFGamer
  * @version 0.9
  */
 @SuppressWarnings({"UnusedReturnValue", "unused", "WeakerAccess"})
-public class Setting implements WritableStringValue, ObservableStringValue
+public class Setting
 {
 
     /**
@@ -36,6 +36,51 @@ public class Setting implements WritableStringValue, ObservableStringValue
      */
     private static final Logger LOG = Logger.getLogger(Setting.class.getName());
 
+    /**
+     * This is used while a Setting has no listeners, so that no array has to be created.
+     */
+    private static final SettingChangeListener[] NO_LISTENERS = new SettingChangeListener[0];
+
+    private static final IntSettingListener[] NO_INT_LISTENERS = new IntSettingListener[0];
+
+    private static final DoubleSettingListener[] NO_DOUBLE_LISTENERS = new DoubleSettingListener[0];
+
+    private static final BooleanSettingListener[] NO_BOOLEAN_LISTENERS = new BooleanSettingListener[0];
+
+    private static final EnumListener<?>[] NO_ENUM_LISTENERS = new EnumListener<?>[0];
+
+    /**
+     * This shows if the current thread loads Settings at the moment, see {@link #setLoading(boolean)}.
+     */
+    private static final ThreadLocal<Boolean> LOADING = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    /**
+     * This is reused by every thread to parse numbers, so that setting a number as String allocates nothing for the
+     * parsing.
+     */
+    private static final ThreadLocal<ParseResult> PARSE_RESULT = ThreadLocal.withInitial(ParseResult::new);
+
+    /**
+     * This shows if the current thread loads a changed file again at the moment, see {@link #setReloading(boolean)}.
+     */
+    private static final ThreadLocal<Boolean> RELOADING = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    /**
+     * This is used to replace {@link #values} only if no other thread replaced them in the meantime.
+     */
+    private static final VarHandle VALUES;
+
+    static
+    {
+        try
+        {
+            VALUES = MethodHandles.lookup().findVarHandle(Setting.class, "values", SettingValues.class);
+        } catch (ReflectiveOperationException e)
+        {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     /**
      * This is the default value for the Setting, interpreted as String.
      */
@@ -44,7 +89,7 @@ public class Setting implements WritableStringValue, ObservableStringValue
     /**
      * This shows if this setting is only for internally use and shouldn't be saved, etc.
      */
-    private Boolean internalValue;
+    private volatile Boolean internalValue;
 
     /**
      * This contains all information about this Setting that isn't connected to the value.
@@ -52,59 +97,72 @@ public class Setting implements WritableStringValue, ObservableStringValue
     private SettingsInformation info;
 
     /**
-     * This is the (first) value of the Setting
+     * This are the listeners for the first value.
      */
-    private final StringProperty valueString;
+    private volatile SettingChangeListener[] valueListeners = NO_LISTENERS;
 
     /**
-     * This is the Value of the Setting as String. This is the List that has all Listeners.
+     * This are the listeners for all values.
      */
-    private ObservableList<String> valuesString = FXCollections.observableList(new ArrayList<>());
+    private volatile SettingChangeListener[] listListeners = NO_LISTENERS;
 
     /**
-     * This is the Value of the Setting as boolean, if existent. If it is not existent that this is null.
+     * This are the listeners that get the values as int, see {@link #addIntListener(IntSettingListener)}.
      */
-    private ObservableList<Boolean> valuesBoolean = FXCollections.observableList(new ArrayList<>());
+    private volatile IntSettingListener[] intListeners = NO_INT_LISTENERS;
 
     /**
-     * This is the Value of the Setting as integer, if existent. If it is not existent that this is null.
+     * This are the listeners that get the values as double, see {@link #addDoubleListener(DoubleSettingListener)}.
      */
-    private ObservableList<Integer> valuesInteger = FXCollections.observableList(new ArrayList<>());
+    private volatile DoubleSettingListener[] doubleListeners = NO_DOUBLE_LISTENERS;
 
     /**
-     * This is the Value of the Setting as double, if existent. If it is not existent that this is null.
+     * This are the listeners that get the values as boolean, see {@link #addBooleanListener(BooleanSettingListener)}.
      */
-    private ObservableList<Double> valuesDouble = FXCollections.observableList(new ArrayList<>());
+    private volatile BooleanSettingListener[] booleanListeners = NO_BOOLEAN_LISTENERS;
 
     /**
-     * This is the Value of the Setting as Enum, if existent. If it is not existent that this is null.
+     * This are the listeners that get the values as Enum elements, see
+     * {@link #addEnumListener(Class, EnumSettingListener)}.
      */
-    private ObservableList<Enum> valuesEnum = FXCollections.observableList(new ArrayList<>());
+    private volatile EnumListener<?>[] enumListeners = NO_ENUM_LISTENERS;
+
+    /**
+     * This are the values of the Setting. Only the Strings and the type of the Setting get stored.
+     * The values never change, every change replaces them.
+     */
+    private volatile SettingValues values;
+
 
     /**
      * This shows the highest allowed value. If it is null then there is no upper bound.
      */
-    private Double maximum = null;
+    private volatile Double maximum = null;
 
     /**
      * This shows the lowest allowed value. If it is null then there is no lower bound.
      */
-    private Double minimum = null;
+    private volatile Double minimum = null;
 
     /**
      * This shows if the value of this Setting changed.
      */
-    private boolean changed = false;
+    private volatile boolean changed = false;
+
+    /**
+     * This shows if changes of the value get noted in {@link #changed}.
+     */
+    private volatile boolean changeTracking = false;
 
     /**
      * This shows if the Minimum value was used.
      */
-    private boolean minimumNeverUsed = true;
+    private volatile boolean minimumNeverUsed = true;
 
     /**
      * This shows if the Maximum value was used.
      */
-    private boolean maximumNeverUsed = true;
+    private volatile boolean maximumNeverUsed = true;
 
     // ----Constructors----
 
@@ -118,8 +176,7 @@ public class Setting implements WritableStringValue, ObservableStringValue
         this.info = info;
         info.setSettings(this);
         this.defaultValue = null;
-        this.valueString = new SimpleStringProperty();
-        this.valuesString.addListener(getValueUpdater());
+        this.values = new SettingValues(SettingsPropertyTypes.String);
     }
 
     /**
@@ -134,10 +191,7 @@ public class Setting implements WritableStringValue, ObservableStringValue
     {
         this.info = info;
         info.setSettings(this);
-        this.valuesString.add(initialValue);
         this.defaultValue = initialValue;
-        this.valueString = new SimpleStringProperty(initialValue);
-        this.valuesString.addListener(getValueUpdater());
         this.init(initialValue);
     }
 
@@ -153,10 +207,7 @@ public class Setting implements WritableStringValue, ObservableStringValue
     {
         this.info = info;
         info.setSettings(this);
-        this.valuesString.add(initialValue);
-        this.valueString = new SimpleStringProperty(initialValue);
         this.defaultValue = initialValue;
-        this.valuesString.addListener(getValueUpdater());
         this.init(initialValue);
         this.internalValue = internalValue;
     }
@@ -175,8 +226,6 @@ public class Setting implements WritableStringValue, ObservableStringValue
         info.setSettings(this);
         this.init(initialValue);
         this.defaultValue = initialValue.get(0);
-        this.valueString = new SimpleStringProperty(initialValue.get(0));
-        this.valuesString.addListener(getValueUpdater());
 
         this.internalValue = false;
     }
@@ -194,9 +243,7 @@ public class Setting implements WritableStringValue, ObservableStringValue
         this.info = info;
         info.setSettings(this);
         this.init(initialValue);
-        this.valueString = new SimpleStringProperty(initialValue.get(0));
         this.defaultValue = initialValue.get(0);
-        this.valuesString.addListener(getValueUpdater());
         this.internalValue = internalValue;
     }
 
@@ -205,26 +252,20 @@ public class Setting implements WritableStringValue, ObservableStringValue
     // --Get String--
 
     /**
-     * Get the wrapped value.
+     * This returns the first value as String, like {@link #get()}.
      *
      * @return The current value
      */
-    @Override
     public String getValue()
     {
         return getString();
     }
 
     /**
-     * Get the wrapped value. This must be identical to
-     * the value returned from {@link #getValue()}.
-     * <p>
-     * This method exists only to align WritableObjectValue API with
-     * {@link WritableBooleanValue} and subclasses of {@link WritableNumberValue}
+     * This returns the first value as String. This is identical to the value returned from {@link #getValue()}.
      *
      * @return The current value
      */
-    @Override
     public String get()
     {
         return getString();
@@ -262,9 +303,10 @@ public class Setting implements WritableStringValue, ObservableStringValue
      */
     public String getString(int index)
     {
-        if (valuesString.size() > index)
+        SettingValues current = values;
+        if (current.length() > index)
         {
-            return valuesString.get(index);
+            return current.getString(index);
         } else
         {
             LOG.warning(bundle.getString("indexToHigh"));
@@ -296,9 +338,10 @@ public class Setting implements WritableStringValue, ObservableStringValue
     public Integer getInt(int index)
     {
 
-        if (valuesInteger.size() > index)
+        SettingValues current = values;
+        if (current.getType() == SettingsPropertyTypes.Integer && current.length() > index)
         {
-            return valuesInteger.get(index);
+            return current.getInt(index);
         } else
         {
             LOG.warning(bundle.getString("indexToHigh"));
@@ -314,7 +357,7 @@ public class Setting implements WritableStringValue, ObservableStringValue
     public boolean hasIntegerValue()
     {
 
-        return this.valuesInteger.size() > 0;
+        return values.getType() == SettingsPropertyTypes.Integer;
     }
 
     // --Get Double--
@@ -334,7 +377,8 @@ public class Setting implements WritableStringValue, ObservableStringValue
 
     /**
      * This return the Value of the Setting at the given index as Double. The first index is 0.
-     * If there is no value at that index or it isn't a double this returns null
+     * If the Setting has an integer value this returns the integer value.
+     * If there is no value at that index or it isn't a double or integer this returns null
      *
      * @param index The index of the Setting
      * @return The value at the index
@@ -342,13 +386,17 @@ public class Setting implements WritableStringValue, ObservableStringValue
     public Double getDouble(int index)
     {
 
-        if (valuesDouble.size() > index)
+        SettingValues current = values;
+        if (current.getType() == SettingsPropertyTypes.Double && current.length() > index)
+        {
+            return current.getDouble(index);
+        } else if (current.getType() == SettingsPropertyTypes.Integer && current.length() > index)
         {
-            return valuesDouble.get(index);
+            return (double) current.getInt(index);
         } else
         {
             LOG.warning(bundle.getString("indexToHigh"));
-            return getInt(index).doubleValue();
+            return null;
         }
     }
 
@@ -361,7 +409,7 @@ public class Setting implements WritableStringValue, ObservableStringValue
     public boolean hasDoubleValue()
     {
 
-        return this.valuesDouble.size() > 0;
+        return values.getType() == SettingsPropertyTypes.Double;
     }
 
     // --Get Boolean--
@@ -387,9 +435,10 @@ public class Setting implements WritableStringValue, ObservableStringValue
     public Boolean getBoolean(int index)
     {
 
-        if (valuesBoolean.size() > index)
+        SettingValues current = values;
+        if (current.getType() == SettingsPropertyTypes.Boolean && current.length() > index)
         {
-            return valuesBoolean.get(index);
+            return current.getBoolean(index);
         } else
         {
             LOG.warning(bundle.getString("indexToHigh"));
@@ -405,7 +454,7 @@ public class Setting implements WritableStringValue, ObservableStringValue
     public boolean hasBooleanValue()
     {
 
-        return this.valuesBoolean.size() > 0;
+        return values.getType() == SettingsPropertyTypes.Boolean;
     }
 
     // --Get Enum--
@@ -429,13 +478,10 @@ public class Setting implements WritableStringValue, ObservableStringValue
      */
     public Enum getEnum(int index)
     {
-        if (valuesEnum.size() > 0 && valuesEnum.get(0) == null)
-        {
-            addEnumValues();
-        }
-        if (valuesEnum.size() > index)
+        SettingValues current = values;
+        if (current.getType() == SettingsPropertyTypes.Enum && current.length() > index)
         {
-            return valuesEnum.get(index);
+            return resolveEnumValues(current).getEnum(index);
         } else
         {
             LOG.warning(bundle.getString("indexToHigh"));
@@ -444,22 +490,33 @@ public class Setting implements WritableStringValue, ObservableStringValue
     }
 
     /**
-     * This method is used to add the values of the Setting to the valuesEnum list because in the beginning the values are only in string format.
+     * This method is used to resolve the Enum values of the Setting, because in the beginning the values are only in string format.
+     * The resolved values replace the given values, if no other thread changed them in the meantime.
+     *
+     * @param current The values that should be resolved.
+     * @return The given values with resolved Enum values.
      */
-    private void addEnumValues()
+    private SettingValues resolveEnumValues(SettingValues current)
     {
-        valuesEnum.clear();
-        for (String aValuesString : valuesString)
+        if (current.isResolved())
         {
-            if (isEnumElement(aValuesString))
+            return current;
+        }
+        Enum<?>[] resolved = new Enum<?>[current.length()];
+        for (int i = 0; i < resolved.length; i++)
+        {
+            String value = current.getString(i);
+            if (isEnumElement(value))
             {
-
-                valuesEnum.add(getEnumElement(aValuesString));
+                resolved[i] = getEnumElement(value);
             } else
             {
                 throw new IllegalStateException(bundle.getString("nonEnumTypeInEnum"));
             }
         }
+        SettingValues result = current.withResolved(resolved);
+        VALUES.compareAndSet(this, current, result);
+        return result;
     }
 
     /**
@@ -470,7 +527,7 @@ public class Setting implements WritableStringValue, ObservableStringValue
     public boolean hasEnumValue()
     {
 
-        return this.valuesEnum.size() > 0;
+        return values.getType() == SettingsPropertyTypes.Enum;
     }
 
     /**
@@ -481,9 +538,10 @@ public class Setting implements WritableStringValue, ObservableStringValue
     public Class<? extends Enum> getEnumType()
     {
 
-        if (valuesEnum != null)
+        SettingValues current = values;
+        if (current.getType() == SettingsPropertyTypes.Enum && current.length() > 0)
         {
-            return valuesEnum.get(0).getClass();
+            return resolveEnumValues(current).getEnum(0).getDeclaringClass();
         }
         return null;
     }
@@ -643,22 +701,7 @@ public class Setting implements WritableStringValue, ObservableStringValue
     public SettingsPropertyTypes getType()
     {
 
-        if (hasBooleanValue())
-        {
-            return SettingsPropertyTypes.Boolean;
-        } else if (hasDoubleValue())
-        {
-            return SettingsPropertyTypes.Double;
-        } else if (hasIntegerValue())
-        {
-            return SettingsPropertyTypes.Integer;
-        } else if (hasEnumValue())
-        {
-            return SettingsPropertyTypes.Enum;
-        } else
-        {
-            return SettingsPropertyTypes.String;
-        }
+        return values.getType();
     }
 
     /**
@@ -691,7 +734,31 @@ public class Setting implements WritableStringValue, ObservableStringValue
     public int getLength()
     {
 
-        return valuesString.size();
+        return values.length();
+    }
+
+    /**
+     * This returns the current values of the Setting. The values can't change, so they can be read without looking at
+     * the Setting again.
+     *
+     * @return The current values.
+     */
+    SettingValues getSnapshot()
+    {
+
+        return values;
+    }
+
+    /**
+     * This returns all values of the Setting as Strings. All values are from the same moment, even if another thread
+     * changes the Setting at the same time.
+     *
+     * @return A List with all values that can't be changed.
+     */
+    public List<String> getStrings()
+    {
+
+        return values.getStrings();
     }
 
     // ----Setter----
@@ -699,11 +766,10 @@ public class Setting implements WritableStringValue, ObservableStringValue
     // --Set String--
 
     /**
-     * Set the wrapped value.
+     * This sets the first value, like {@link #set(String)}.
      *
      * @param value The new value
      */
-    @Override
     public void setValue(String value)
     {
         set(value);
@@ -718,7 +784,6 @@ public class Setting implements WritableStringValue, ObservableStringValue
      * @throws IllegalArgumentException This happens if the setting has for example an integer value and
      *                                  the new value is a 'pure' string or boolean or double.
      */
-    @Override
     public void set(String newValue) throws IllegalArgumentException
     {
         set(newValue, 0);
@@ -738,7 +803,7 @@ public class Setting implements WritableStringValue, ObservableStringValue
     public void set(String newValue, int index) throws IllegalArgumentException, IndexOutOfBoundsException
     {
 
-        if (this.valuesBoolean.size() > 0)
+        if (hasBooleanValue())
         {
             if (Convertible.toBoolean(newValue, TRUE_VALUES, FALSE_VALUES))
             {
@@ -747,31 +812,28 @@ public class Setting implements WritableStringValue, ObservableStringValue
             {
                 throw new IllegalArgumentException(bundle.getString("cantConvertValue_start") + newValue + bundle.getString("cantConvertValue_boolean"));
             }
-        } else if (this.valuesInteger.size() > 0)
+        } else if (hasIntegerValue())
         {
-            if (Convertible.toInt(newValue))
+            ParseResult number = PARSE_RESULT.get();
+            if (Convertible.tryParseInt(newValue, number))
             {
-                setInteger(Integer.parseInt(newValue), index);
+                setInteger(number.getInt(), index);
             } else
             {
                 throw new IllegalArgumentException(bundle.getString("cantConvertValue_start") + newValue + bundle.getString("cantConvertValue_integer"));
             }
-        } else if (this.valuesDouble.size() > 0)
+        } else if (hasDoubleValue())
         {
-            if (Convertible.toDouble(newValue))
+            ParseResult number = PARSE_RESULT.get();
+            if (Convertible.tryParseDouble(newValue, number))
             {
-                setDouble(Double.valueOf(newValue), index);
+                setDouble(number.getDouble(), index);
             } else
             {
                 throw new IllegalArgumentException(bundle.getString("cantConvertValue_start") + newValue + bundle.getString("cantConvertValue_double"));
             }
-        } else if (this.valuesEnum.size() > 0)
+        } else if (hasEnumValue())
         {
-            if (stackTraceContains(Settings.class, null))
-            {
-                setOnlyString(newValue, index);
-                return;
-            }
             if (!newValue.contains("."))
             {
                 newValue = defaultValue.substring(0, defaultValue.lastIndexOf(".")) + "." + newValue;
@@ -790,6 +852,28 @@ public class Setting implements WritableStringValue, ObservableStringValue
 
     }
 
+    /**
+     * This sets the new value like {@link Setting#set(String, int)}, but Enum values are only saved as String and get
+     * resolved when they are needed. This is used while the Setting is created or loaded, because at that time the
+     * Enum of the value may not be initialised yet.
+     *
+     * @param newValue The new value that should be assigned.
+     * @param index    The index where the value should be added or updated.
+     * @throws IllegalArgumentException  This happens if the setting has for example an integer value and
+     *                                   the new value is a 'pure' string or boolean or double.
+     * @throws IndexOutOfBoundsException This happens if the given index isn't already set or the next free value.
+     */
+    void setRaw(String newValue, int index) throws IllegalArgumentException, IndexOutOfBoundsException
+    {
+        if (hasEnumValue())
+        {
+            update(index, current -> current.withString(index, newValue));//The Enum values get resolved again with the next access.
+        } else
+        {
+            set(newValue, index);
+        }
+    }
+
     /**
      * This sets the value only for the String.
      *
@@ -798,13 +882,63 @@ public class Setting implements WritableStringValue, ObservableStringValue
      */
     private void setOnlyString(String newValue, int index)
     {
-        if (index == valuesString.size())
+        update(index, current -> current.withString(index, newValue));//TODO only if it changed
+    }
+
+    /**
+     * This replaces the values with the changed values. If another thread replaced the values in the meantime the change
+     * gets applied again to the new values, so no change gets lost and no lock is needed.
+     *
+     * @param index  The index of the value that changes.
+     * @param change This creates the changed values from the current values.
+     */
+    private void update(int index, UnaryOperator<SettingValues> change)
+    {
+        SettingValues current;
+        SettingValues next;
+        do
         {
-            valuesString.add(newValue);
-        } else
+            current = values;
+            next = change.apply(current);
+        } while (!VALUES.compareAndSet(this, current, next));
+        valueChanged(index, current, next);
+        fireTypedValueChanged(index, current, next);
+    }
+
+    /**
+     * This notes the change of the first value, marks the class of this Setting as changed in {@link SettingClassInfo}
+     * and informs the listeners about the new value at the given index. The values only get converted to Strings, if
+     * there are listeners.
+     *
+     * @param index     The index of the value that changed.
+     * @param oldValues The values before the change.
+     * @param newValues The values after the change.
+     */
+    private void valueChanged(int index, SettingValues oldValues, SettingValues newValues)
+    {
+        boolean added = oldValues.length() <= index;
+        if (added ? newValues.isNull(index) : oldValues.sameValue(index, newValues))
+        {
+            return;
+        }
+        if (info != null && !RELOADING.get())
         {
-            valuesString.set(index, newValue);//TODO only if it changed
+            SettingClassInfo.setChanged(info.getClassName());
         }
+        SettingChangeListener[] firstValueListeners = index == 0 ? valueListeners : NO_LISTENERS;
+        SettingChangeListener[] allValueListeners = listListeners;
+        if (index == 0 && changeTracking && !added && !oldValues.isNull(index) && !newValues.isNull(index) && !LOADING.get())
+        {
+            setSettingChanged();
+        }
+        if (firstValueListeners.length == 0 && allValueListeners.length == 0)
+        {
+            return;
+        }
+        String oldValue = added ? null : oldValues.getString(index);
+        String newValue = newValues.getString(index);
+        fireValueChanged(firstValueListeners, index, oldValue, newValue);
+        fireValueChanged(allValueListeners, index, oldValue, newValue);
     }
 
     /**
@@ -939,7 +1073,7 @@ public class Setting implements WritableStringValue, ObservableStringValue
     public boolean setInteger(int newValue, int index) throws IndexOutOfBoundsException
     {
 
-        if (this.valuesInteger.size() > 0)
+        if (hasIntegerValue())
         {
             if (getMaximum() != null && getMaximum() < newValue)
             {
@@ -948,16 +1082,10 @@ public class Setting implements WritableStringValue, ObservableStringValue
             {
                 newValue = getMinimum().intValue();
             }
-            if (index == valuesInteger.size())
-            {
-                this.valuesInteger.add(newValue);
-            } else
-            {
-                this.valuesInteger.set(index, newValue);
-            }
-            setOnlyString(String.valueOf(newValue), index);
+            int value = newValue;
+            update(index, current -> current.withInt(index, value));
             return true;
-        } else if (this.valuesDouble.size() > 0)
+        } else if (hasDoubleValue())
         {
             return setDouble(newValue, index);
         } else
@@ -1047,7 +1175,7 @@ public class Setting implements WritableStringValue, ObservableStringValue
     public boolean setDouble(double newValue, int index) throws IndexOutOfBoundsException
     {
 
-        if (this.valuesDouble.size() > 0)
+        if (hasDoubleValue())
         {
             if (getMaximum() != null && getMaximum() < newValue)
             {
@@ -1056,14 +1184,8 @@ public class Setting implements WritableStringValue, ObservableStringValue
             {
                 newValue = getMinimum();
             }
-            if (index == valuesDouble.size())
-            {
-                this.valuesDouble.add(newValue);
-            } else
-            {
-                this.valuesDouble.set(index, newValue);
-            }
-            setOnlyString(String.valueOf(newValue), index);
+            double value = newValue;
+            update(index, current -> current.withDouble(index, value));
 
             return true;
         } else
@@ -1150,16 +1272,9 @@ public class Setting implements WritableStringValue, ObservableStringValue
     public boolean setBoolean(boolean newValue, int index) throws IndexOutOfBoundsException
     {
 
-        if (this.valuesBoolean.size() > 0)
+        if (hasBooleanValue())
         {
-            if (index == valuesBoolean.size())
-            {
-                this.valuesBoolean.add(newValue);
-            } else
-            {
-                this.valuesBoolean.set(index, newValue);
-            }
-            setOnlyString(String.valueOf(newValue), index);
+            update(index, current -> current.withBoolean(index, newValue));
 
             return true;
         } else
@@ -1245,24 +1360,13 @@ public class Setting implements WritableStringValue, ObservableStringValue
     public boolean setEnum(Enum newValue, int index) throws IndexOutOfBoundsException
     {
 
-        if (this.valuesEnum.size() > 0)
+        if (hasEnumValue())
         {
-            if (this.valuesEnum.get(0) == null)
-            {
-                addEnumValues();
-            }
-            if (!Utils.inSameEnum(newValue, valuesEnum.get(0)))
+            if (!Utils.inSameEnum(newValue, resolveEnumValues(values).getEnum(0)))
             {
                 return false;
             }
-            if (index == valuesEnum.size())
-            {
-                this.valuesEnum.add(newValue);
-            } else
-            {
-                this.valuesEnum.set(index, newValue);
-            }
-            setOnlyString(newValue.getDeclaringClass().getName() + "." + newValue.toString(), index);
+            update(index, current -> resolveEnumValues(current).withEnum(index, newValue));
 
             return true;
         } else
@@ -1416,6 +1520,60 @@ public class Setting implements WritableStringValue, ObservableStringValue
         set(getDefaultValue());
     }
 
+    /**
+     * This sets if changes of the first value should be noted, so that {@link #getSettingChanged()} shows them.
+     *
+     * @param changeTracking true, if changes should be noted, otherwise false.
+     */
+    void setChangeTracking(boolean changeTracking)
+    {
+        this.changeTracking = changeTracking;
+    }
+
+    /**
+     * This starts or ends loading Settings on the current thread. While the thread loads Settings, their changes
+     * aren't noted by {@link #getSettingChanged()}, but the listeners still get informed. Other threads aren't
+     * affected, so a change by the user at the same time still gets noted.
+     * <p>
+     * This has to be ended in a finally block:
+     * <pre>
+     * Setting.setLoading(true);
+     * try { ... } finally { Setting.setLoading(false); }
+     * </pre>
+     *
+     * @param loading true, if the current thread starts loading, false if it is done.
+     */
+    static void setLoading(boolean loading)
+    {
+
+        LOADING.set(loading);
+    }
+
+    /**
+     * This starts or ends loading a file again that changed on the disk. While the current thread does this, the
+     * changes of the Settings don't count as changes of their class (see {@link SettingClassInfo#getChanges(String)}),
+     * because the file already contains the new values. This has to be ended in a finally block like
+     * {@link #setLoading(boolean)}.
+     *
+     * @param reloading true, if the current thread starts loading a file again, false if it is done.
+     */
+    static void setReloading(boolean reloading)
+    {
+
+        RELOADING.set(reloading);
+    }
+
+    /**
+     * This returns the number of listeners of this Setting, for the first value and for all values.
+     *
+     * @return The number of listeners.
+     */
+    int getListenerCount()
+    {
+
+        return valueListeners.length + listListeners.length + intListeners.length + doubleListeners.length + booleanListeners.length + enumListeners.length;
+    }
+
     /**
      * This sets that this setting was changed. Moreover it sets that any setting was changed. This can't be reversed.
      */
@@ -1430,206 +1588,324 @@ public class Setting implements WritableStringValue, ObservableStringValue
     // ---Listeners---
 
     /**
-     * Adds a {@link ChangeListener} which will be notified whenever the value
-     * of the {@code ObservableValue} changes. If the same listener is added
-     * more than once, then it will be notified more than once. That is, no
-     * check is made to ensure uniqueness.
-     * <p>
-     * Note that the same actual {@code ChangeListener} instance may be safely
-     * registered for different {@code ObservableValues}.
-     * <p>
-     * The {@code ObservableValue} stores a strong reference to the listener
-     * which will prevent the listener from being garbage collected and may
-     * result in a memory leak. It is recommended to either unregister a
-     * listener by calling {@link #removeListener(ChangeListener)
-     * removeListener} after use or to use an instance of
-     * {@link WeakChangeListener} avoid this situation.
+     * Adds an {@link IntSettingListener} which will be notified whenever any value of this Setting changes.
      *
      * @param listener The listener to register
-     * @throws NullPointerException if the listener is null
-     * @see #removeListener(ChangeListener)
+     * @throws IllegalArgumentException if this Setting has no int values
+     * @see #removeIntListener(IntSettingListener)
      */
-    @Override
-    public void addListener(ChangeListener<? super String> listener)
+    public synchronized void addIntListener(IntSettingListener listener)
     {
-        valueString.addListener(listener);
+        checkListenerType(SettingsPropertyTypes.Integer);
+        intListeners = add(intListeners, Objects.requireNonNull(listener));
     }
 
     /**
-     * Removes the given listener from the list of listeners, that are notified
-     * whenever the value of the {@code ObservableValue} changes.
-     * <p>
-     * If the given listener has not been previously registered (i.e. it was
-     * never added) then this method call is a no-op. If it had been previously
-     * added then it will be removed. If it had been added more than once, then
-     * only the first occurrence will be removed.
+     * Removes the given listener. If it was never added this does nothing.
      *
      * @param listener The listener to remove
-     * @throws NullPointerException if the listener is null
-     * @see #addListener(ChangeListener)
+     * @see #addIntListener(IntSettingListener)
      */
-    @Override
-    public void removeListener(ChangeListener<? super String> listener)
+    public synchronized void removeIntListener(IntSettingListener listener)
     {
-        valueString.removeListener(listener);
+        intListeners = remove(intListeners, listener);
     }
 
     /**
-     * Adds a {@link ChangeListener} which will be notified whenever the value
-     * of the {@code ObservableValue} changes. If the same listener is added
-     * more than once, then it will be notified more than once. That is, no
-     * check is made to ensure uniqueness.
-     * <p>
-     * Note that the same actual {@code ChangeListener} instance may be safely
-     * registered for different {@code ObservableValues}.
-     * <p>
-     * The {@code ObservableValue} stores a strong reference to the listener
-     * which will prevent the listener from being garbage collected and may
-     * result in a memory leak. It is recommended to either unregister a
-     * listener by calling {@link #removeListener(ChangeListener)
-     * removeListener} after use or to use an instance of
-     * {@link WeakChangeListener} avoid this situation.
+     * Adds a {@link DoubleSettingListener} which will be notified whenever any value of this Setting changes.
      *
      * @param listener The listener to register
-     * @throws NullPointerException if the listener is null
-     * @see #removeListener(ChangeListener)
+     * @throws IllegalArgumentException if this Setting has no double values
+     * @see #removeDoubleListener(DoubleSettingListener)
      */
-    public void addListener(ListChangeListener<? super String> listener)
+    public synchronized void addDoubleListener(DoubleSettingListener listener)
     {
-        valuesString.addListener(listener);
+        checkListenerType(SettingsPropertyTypes.Double);
+        doubleListeners = add(doubleListeners, Objects.requireNonNull(listener));
     }
 
     /**
-     * Removes the given listener from the list of listeners, that are notified
-     * whenever the value of the {@code ObservableValue} changes.
-     * <p>
-     * If the given listener has not been previously registered (i.e. it was
-     * never added) then this method call is a no-op. If it had been previously
-     * added then it will be removed. If it had been added more than once, then
-     * only the first occurrence will be removed.
+     * Removes the given listener. If it was never added this does nothing.
      *
      * @param listener The listener to remove
-     * @throws NullPointerException if the listener is null
-     * @see #addListener(ChangeListener)
+     * @see #addDoubleListener(DoubleSettingListener)
      */
-    public void removeListener(ListChangeListener<? super String> listener)
+    public synchronized void removeDoubleListener(DoubleSettingListener listener)
     {
-        valuesString.removeListener(listener);
+        doubleListeners = remove(doubleListeners, listener);
     }
 
     /**
-     * Adds an {@link InvalidationListener} which will be notified whenever the
-     * {@code Observable} becomes invalid. If the same
-     * listener is added more than once, then it will be notified more than
-     * once. That is, no check is made to ensure uniqueness.
-     * <p>
-     * Note that the same actual {@code InvalidationListener} instance may be
-     * safely registered for different {@code Observables}.
+     * Adds a {@link BooleanSettingListener} which will be notified whenever any value of this Setting changes.
+     *
+     * @param listener The listener to register
+     * @throws IllegalArgumentException if this Setting has no boolean values
+     * @see #removeBooleanListener(BooleanSettingListener)
+     */
+    public synchronized void addBooleanListener(BooleanSettingListener listener)
+    {
+        checkListenerType(SettingsPropertyTypes.Boolean);
+        booleanListeners = add(booleanListeners, Objects.requireNonNull(listener));
+    }
+
+    /**
+     * Removes the given listener. If it was never added this does nothing.
+     *
+     * @param listener The listener to remove
+     * @see #addBooleanListener(BooleanSettingListener)
+     */
+    public synchronized void removeBooleanListener(BooleanSettingListener listener)
+    {
+        booleanListeners = remove(booleanListeners, listener);
+    }
+
+    /**
+     * Adds an {@link EnumSettingListener} which will be notified whenever any value of this Setting changes.
+     *
+     * @param type     The class of the Enum of this Setting.
+     * @param listener The listener to register
+     * @param <E>      The type of the Enum.
+     * @throws IllegalArgumentException if this Setting has no values of the given Enum
+     * @see #removeEnumListener(EnumSettingListener)
+     */
+    public synchronized <E extends Enum<E>> void addEnumListener(Class<E> type, EnumSettingListener<E> listener)
+    {
+        checkListenerType(SettingsPropertyTypes.Enum);
+        if (!type.equals(getEnumType()))
+        {
+            throw new IllegalArgumentException(bundle.getString("wrongListenerType") + type.getName());
+        }
+        enumListeners = add(enumListeners, new EnumListener<>(type, Objects.requireNonNull(listener)));
+    }
+
+    /**
+     * Removes the given listener. If it was never added this does nothing.
+     *
+     * @param listener The listener to remove
+     * @see #addEnumListener(Class, EnumSettingListener)
+     */
+    public synchronized void removeEnumListener(EnumSettingListener<?> listener)
+    {
+        for (EnumListener<?> enumListener : enumListeners)
+        {
+            if (enumListener.listener.equals(listener))
+            {
+                enumListeners = remove(enumListeners, enumListener);
+                return;
+            }
+        }
+    }
+
+    /**
+     * This checks that the values of this Setting have the type of a typed listener.
+     *
+     * @param type The type of the values that the listener gets.
+     * @throws IllegalArgumentException if the values of this Setting have an other type
+     */
+    private void checkListenerType(SettingsPropertyTypes type)
+    {
+        if (getType() != type)
+        {
+            throw new IllegalArgumentException(bundle.getString("wrongListenerType") + type);
+        }
+    }
+
+    /**
+     * This informs the typed listeners of the type of this Setting, if the value at the given index changed.
+     *
+     * @param index     The index of the value that changed.
+     * @param oldValues The values before the change.
+     * @param newValues The values after the change.
+     */
+    private void fireTypedValueChanged(int index, SettingValues oldValues, SettingValues newValues)
+    {
+        boolean added = oldValues.length() <= index;
+        switch (newValues.getType())
+        {
+            case Integer:
+                IntSettingListener[] ints = intListeners;
+                if (ints.length > 0 && differs(index, oldValues, newValues))
+                {
+                    for (IntSettingListener listener : ints)
+                    {
+                        listener.changed(this, index, added ? 0 : oldValues.getInt(index), newValues.getInt(index));
+                    }
+                }
+                break;
+            case Double:
+                DoubleSettingListener[] doubles = doubleListeners;
+                if (doubles.length > 0 && differs(index, oldValues, newValues))
+                {
+                    for (DoubleSettingListener listener : doubles)
+                    {
+                        listener.changed(this, index, added ? 0 : oldValues.getDouble(index), newValues.getDouble(index));
+                    }
+                }
+                break;
+            case Boolean:
+                BooleanSettingListener[] booleans = booleanListeners;
+                if (booleans.length > 0 && differs(index, oldValues, newValues))
+                {
+                    for (BooleanSettingListener listener : booleans)
+                    {
+                        listener.changed(this, index, !added && oldValues.getBoolean(index), newValues.getBoolean(index));
+                    }
+                }
+                break;
+            case Enum:
+                EnumListener<?>[] enums = enumListeners;
+                if (enums.length > 0 && differs(index, oldValues, newValues))
+                {
+                    Enum<?> oldValue = added ? null : enumAt(oldValues, index);
+                    Enum<?> newValue = enumAt(newValues, index);
+                    for (EnumListener<?> listener : enums)
+                    {
+                        listener.changed(this, index, oldValue, newValue);
+                    }
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * This checks if the value at the given index was added or changed.
+     *
+     * @param index     The index of the value.
+     * @param oldValues The values before the change.
+     * @param newValues The values after the change.
+     * @return true, if the value is new or differs from the old value.
+     */
+    private static boolean differs(int index, SettingValues oldValues, SettingValues newValues)
+    {
+        return oldValues.length() <= index || !oldValues.sameValue(index, newValues);
+    }
+
+    /**
+     * This returns the Enum element at the given index, also if the values aren't resolved yet.
+     *
+     * @param values The values.
+     * @param index  The index.
+     * @return The Enum element or null, if the value isn't an Enum element.
+     */
+    private static Enum<?> enumAt(SettingValues values, int index)
+    {
+        if (values.isResolved())
+        {
+            return values.getEnum(index);
+        }
+        return isEnumElement(values.getString(index)) ? getEnumElement(values.getString(index)) : null;
+    }
+
+    /**
+     * Adds a {@link SettingChangeListener} which will be notified whenever the first value of this Setting changes.
+     * If the same listener is added more than once, then it will be notified more than once.
      * <p>
-     * The {@code Observable} stores a strong reference to the listener
-     * which will prevent the listener from being garbage collected and may
-     * result in a memory leak. It is recommended to either unregister a
-     * listener by calling {@link #removeListener(InvalidationListener)
-     * removeListener} after use or to use an instance of
-     * {@link WeakInvalidationListener} avoid this situation.
+     * The Setting stores a strong reference to the listener, so it should be removed with
+     * {@link #removeListener(SettingChangeListener)} when it isn't needed anymore.
      *
      * @param listener The listener to register
      * @throws NullPointerException if the listener is null
-     * @see #removeListener(InvalidationListener)
+     * @see #removeListener(SettingChangeListener)
      */
-    @Override
-    public void addListener(InvalidationListener listener)
+    public void addListener(SettingChangeListener listener)
     {
-        valueString.addListener(listener);
+        addListener(listener, false);
     }
 
     /**
-     * Removes the given listener from the list of listeners, that are notified
-     * whenever the value of the {@code Observable} becomes invalid.
-     * <p>
-     * If the given listener has not been previously registered (i.e. it was
-     * never added) then this method call is a no-op. If it had been previously
-     * added then it will be removed. If it had been added more than once, then
-     * only the first occurrence will be removed.
+     * Removes the given listener from the listeners of the first value. If it had been added more than once, then
+     * only the first occurrence will be removed. If it was never added this does nothing.
      *
      * @param listener The listener to remove
-     * @throws NullPointerException if the listener is null
-     * @see #addListener(InvalidationListener)
+     * @see #addListener(SettingChangeListener)
      */
-    @Override
-    public void removeListener(InvalidationListener listener)
+    public void removeListener(SettingChangeListener listener)
     {
-        valueString.removeListener(listener);
+        removeListener(listener, false);
     }
 
     /**
-     * Adds an {@link InvalidationListener} which will be notified whenever the
-     * {@code Observable} becomes invalid. If the same
-     * listener is added more than once, then it will be notified more than
-     * once. That is, no check is made to ensure uniqueness.
-     * <p>
-     * Note that the same actual {@code InvalidationListener} instance may be
-     * safely registered for different {@code Observables}.
-     * <p>
-     * The {@code Observable} stores a strong reference to the listener
-     * which will prevent the listener from being garbage collected and may
-     * result in a memory leak. It is recommended to either unregister a
-     * listener by calling {@link #removeListener(InvalidationListener)
-     * removeListener} after use or to use an instance of
-     * {@link WeakInvalidationListener} avoid this situation.
+     * Adds a {@link SettingChangeListener} which will be notified whenever the first value or, if toList is true, any
+     * value of this Setting changes. If the same listener is added more than once, then it will be notified more than
+     * once.
      *
      * @param listener The listener to register
      * @param toList   This shows if the Listener should be added to the List with all Values or to the first String
      * @throws NullPointerException if the listener is null
-     * @see #removeListener(InvalidationListener)
+     * @see #removeListener(SettingChangeListener, boolean)
      */
-    public void addListener(InvalidationListener listener, boolean toList)
+    public synchronized void addListener(SettingChangeListener listener, boolean toList)
     {
+        if (listener == null)
+        {
+            throw new NullPointerException();
+        }
         if (toList)
         {
-            valuesString.addListener(listener);
+            listListeners = add(listListeners, listener);
         } else
         {
-            addListener(listener);
+            valueListeners = add(valueListeners, listener);
         }
     }
 
     /**
-     * Removes the given listener from the list of listeners, that are notified
-     * whenever the value of the {@code Observable} becomes invalid.
-     * <p>
-     * If the given listener has not been previously registered (i.e. it was
-     * never added) then this method call is a no-op. If it had been previously
-     * added then it will be removed. If it had been added more than once, then
-     * only the first occurrence will be removed.
+     * Removes the given listener from the listeners of the first value or, if toList is true, of all values.
+     * If it had been added more than once, then only the first occurrence will be removed.
      *
      * @param listener The listener to remove
-     * @param toList   This shows if the Listener should be added to the List with all Values or to the first String
-     * @throws NullPointerException if the listener is null
-     * @see #addListener(InvalidationListener)
+     * @param toList   This shows if the Listener was added to the List with all Values or to the first String
+     * @see #addListener(SettingChangeListener, boolean)
      */
-    public void removeListener(InvalidationListener listener, boolean toList)
+    public synchronized void removeListener(SettingChangeListener listener, boolean toList)
     {
         if (toList)
         {
-            valuesString.removeListener(listener);
+            listListeners = remove(listListeners, listener);
         } else
         {
-            removeListener(listener);
+            valueListeners = remove(valueListeners, listener);
+        }
+    }
+
+    /**
+     * This informs the listeners in the array. The arrays get replaced when a listener gets added or removed, so a
+     * listener can remove itself.
+     *
+     * @param listeners The listeners.
+     * @param index     The index of the value that changed.
+     * @param oldValue  The value before the change.
+     * @param newValue  The new value.
+     */
+    private void fireValueChanged(SettingChangeListener[] listeners, int index, String oldValue, String newValue)
+    {
+        for (SettingChangeListener listener : listeners)
+        {
+            listener.changed(this, index, oldValue, newValue);
         }
+    }
 
+    private static <T> T[] add(T[] listeners, T listener)
+    {
+        T[] result = Arrays.copyOf(listeners, listeners.length + 1);
+        result[listeners.length] = listener;
+        return result;
     }
 
-    private ListChangeListener<String> getValueUpdater()
+    private static <T> T[] remove(T[] listeners, Object listener)
     {
-        return c ->
+        for (int i = 0; i < listeners.length; i++)
         {
-            c.next();
-            if (c.getFrom() == 0)
+            if (listeners[i].equals(listener))
             {
-                valueString.setValue(valuesString.get(0));
+                T[] result = Arrays.copyOf(listeners, listeners.length - 1);
+                System.arraycopy(listeners, i + 1, result, i, listeners.length - i - 1);
+                return result;
             }
-        };
+        }
+        return listeners;
     }
 
     /**
@@ -1640,22 +1916,22 @@ public class Setting implements WritableStringValue, ObservableStringValue
      */
     private void init(String initialValue)
     {
-        if (valuesString.size() == 0)
-        {
-            this.valuesString.add(initialValue);
-        }
+        ParseResult number = PARSE_RESULT.get();
         if (Convertible.toBoolean(initialValue, TRUE_VALUES, FALSE_VALUES))
         {
-            this.valuesBoolean.add(Utils.isTrue(initialValue, TRUE_VALUES));
-        } else if (Convertible.toInt(initialValue))
+            this.values = new SettingValues(SettingsPropertyTypes.Boolean).withBoolean(0, Utils.isTrue(initialValue, TRUE_VALUES));
+        } else if (Convertible.tryParseInt(initialValue, number))
         {
-            this.valuesInteger.add(Integer.parseInt(initialValue));
-        } else if (Convertible.toDouble(initialValue))
+            this.values = new SettingValues(SettingsPropertyTypes.Integer).withInt(0, number.getInt());
+        } else if (Convertible.tryParseDouble(initialValue, number))
         {
-            this.valuesDouble.add(Double.parseDouble(initialValue));
+            this.values = new SettingValues(SettingsPropertyTypes.Double).withDouble(0, number.getDouble());
         } else if (Utils.isEnumClass(initialValue))
         {
-            this.valuesEnum.add(null);//This can't add the enum element because there is an chance that the element doesn't exist at that early time of initialisation.
+            this.values = new SettingValues(SettingsPropertyTypes.Enum).withString(0, initialValue);//This can't resolve the enum element because there is an chance that the element doesn't exist at that early time of initialisation.
+        } else
+        {
+            this.values = new SettingValues(SettingsPropertyTypes.String).withString(0, initialValue);
         }
     }
 
@@ -1672,7 +1948,32 @@ public class Setting implements WritableStringValue, ObservableStringValue
         init(initialValue.get(0));
         for (int i = 1; i < initialValue.size(); i++)
         {
-            set(initialValue.get(i), i);
+            setRaw(initialValue.get(i), i);
+        }
+    }
+
+    /**
+     * This is an {@link EnumSettingListener} together with the class of its Enum, so that the values can be given to it
+     * without an unchecked cast.
+     *
+     * @param <E> The type of the Enum.
+     */
+    private static final class EnumListener<E extends Enum<E>>
+    {
+
+        private final Class<E> type;
+
+        private final EnumSettingListener<E> listener;
+
+        private EnumListener(Class<E> type, EnumSettingListener<E> listener)
+        {
+            this.type = type;
+            this.listener = listener;
+        }
+
+        private void changed(Setting setting, int index, Enum<?> oldValue, Enum<?> newValue)
+        {
+            listener.changed(setting, index, type.cast(oldValue), type.cast(newValue));
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,26 @@
+package org.asdfgamer.utils.config;
+
+/**
+ * This Listener gets informed when a value of a Setting changes. It is added with
+ * {@link Setting#addListener(SettingChangeListener)} for the first value or with
+ * {@link Setting#addListener(SettingChangeListener, boolean)} for all values of a List.
+ * <p>
+ * This doesn't need JavaFX, {@link org.asdfgamer.utils.config.gui.SettingProperty} connects a Setting with JavaFX.
+ *
+ * @author ASDFGamer
+ */
+@FunctionalInterface
+public interface SettingChangeListener
+{
+
+    /**
+     * This gets called after a value of the Setting changed. If the new value is equal to the old value this doesn't
+     * get called.
+     *
+     * @param setting  The Setting with the changed value.
+     * @param index    The index of the changed value.
+     * @param oldValue The value before the change or null, if the value was added.
+     * @param newValue The new value.
+     */
+    void changed(Setting setting, int index, String oldValue, String newValue);
+}
@@ -1,8 +1,9 @@
 package org.asdfgamer.utils.config;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Logger;
 
 import static java.util.logging.Logger.getLogger;
@@ -11,6 +12,8 @@ import static org.asdfgamer.utils.config.internal.SettingUtils.bundle;
 /**
  * In this Class are different information about the whole Class/Enum with Settings, because they are for the Class/Enum
  * and not for a specific Setting.
+ * <p>
+ * All methods are thread safe, so Settings can be created and loaded by many threads at the same time.
  *
  * @author ASDFGamer
  */
@@ -26,26 +29,35 @@ public class SettingClassInfo
     /**
      * This Map is the Map with the info to every relevant Class.
      */
-    private final static Map<String, ClassInfo> info = new HashMap<>();
+    private final static Map<String, ClassInfo> info = new ConcurrentHashMap<>();
 
 
     /**
-     * This is used to show that the Class is changed.
+     * This is used to show that a Setting of the Class changed. Every call counts as one change, see
+     * {@link #getChanges(String)}.
      *
      * @param className The absolute Classname (e.g. org.asdfgamer.utils.config.SettingsEnum)
      */
-    public static void setChanged(String className)//TODO implement, this is for efficient saving of the settings
+    public static void setChanged(String className)
     {
 
-        if (info.containsKey(className))
-        {
-            info.get(className).changed = true;
-        } else
-        {
-            ClassInfo classInfo = new ClassInfo();
-            classInfo.changed = true;
-            info.put(className, classInfo);
-        }
+        ClassInfo classInfo = get(className);
+        classInfo.changed = true;
+        classInfo.changes.incrementAndGet();
+    }
+
+    /**
+     * This returns how often a Setting of the class changed. A storage can remember this number when it saves or loads
+     * the class and skip the next save, if the number is still the same.
+     *
+     * @param className The absolute Classname (e.g. org.asdfgamer.utils.config.SettingsEnum)
+     * @return The number of changes or 0 if there are no information about the class.
+     */
+    public static int getChanges(String className)
+    {
+
+        ClassInfo classInfo = info.get(className);
+        return classInfo == null ? 0 : classInfo.changes.get();
     }
 
     /**
@@ -58,20 +70,10 @@ public class SettingClassInfo
     public static boolean setNumberOfSettings(String classname, int settings)
     {
 
-        if (info.containsKey(classname))
+        if (!get(classname).settings.compareAndSet(0, settings))
         {
-            if (info.get(classname).settings != 0)
-            {
-                LOG.warning(bundle.getString("NumberOfSettingsAlreadySet"));
-                return false;
-            }
-            info.get(classname).settings = settings;
-
-        } else
-        {
-            ClassInfo classInfo = new ClassInfo();
-            classInfo.settings = settings;
-            info.put(classname, classInfo);
+            LOG.warning(bundle.getString("NumberOfSettingsAlreadySet"));
+            return false;
         }
         return true;
     }
@@ -85,14 +87,52 @@ public class SettingClassInfo
     public static boolean isChanged(String className)
     {
 
-        if (info.containsKey(className))
+        ClassInfo classInfo = info.get(className);
+        if (classInfo != null)
         {
-            return info.get(className).changed;
+            return classInfo.changed;
         }
         LOG.warning(bundle.getString("noInfo_start") + className + bundle.getString("noInfo_end"));
         return false;
     }
 
+    /**
+     * This returns the position the next Setting of the class gets. The first Setting of a class gets 0.
+     *
+     * @param className The absolute Classname (e.g. org.asdfgamer.utils.config.SettingsEnum)
+     * @return The position of the next Setting in the class.
+     */
+    static int nextSettingIndex(String className)
+    {
+
+        return get(className).createdSettings.getAndIncrement();
+    }
+
+    /**
+     * This registers a new Setting for the class.
+     *
+     * @param className The absolute Classname (e.g. org.asdfgamer.utils.config.SettingsEnum)
+     */
+    static void register(String className)
+    {
+
+        get(className).registeredSettings.incrementAndGet();
+    }
+
+    /**
+     * This returns how many Settings were registered for the class. This changes every time a new Setting of the class
+     * gets created, so it can be used to see if the Settings of a class have to be searched again.
+     *
+     * @param className The absolute Classname (e.g. org.asdfgamer.utils.config.SettingsEnum)
+     * @return The number of registered Settings or 0 if there are no information about the class.
+     */
+    public static int getRegisteredSettings(String className)
+    {
+
+        ClassInfo classInfo = info.get(className);
+        return classInfo == null ? 0 : classInfo.registeredSettings.get();
+    }
+
     /**
      * This returns how many Settings are in the class.
      *
@@ -102,9 +142,10 @@ public class SettingClassInfo
     public static int getSettings(String className)
     {
 
-        if (info.containsKey(className))
+        ClassInfo classInfo = info.get(className);
+        if (classInfo != null)
         {
-            return info.get(className).settings;
+            return classInfo.settings.get();
         }
         LOG.warning(bundle.getString("noInfo_start") + className + bundle.getString("noInfo_end"));
         return 0;
@@ -118,16 +159,7 @@ public class SettingClassInfo
     public static void setSettingsLoaded(String className)
     {
 
-        if (info.containsKey(className))
-        {
-            info.get(className).settingsLoaded = true;
-        } else
-        {
-            ClassInfo classInfo = new ClassInfo();
-            classInfo.settingsLoaded = true;
-            info.put(className, classInfo);
-        }
-
+        get(className).settingsLoaded = true;
     }
 
     /**
@@ -138,18 +170,9 @@ public class SettingClassInfo
     public static void setProblemsWithLoading(String className)
     {
 
-        if (info.containsKey(className))
-        {
-            info.get(className).settingsLoadedCompletely = false;
-            info.get(className).settingsLoaded = true;
-
-        } else
-        {
-            ClassInfo classInfo = new ClassInfo();
-            classInfo.settingsLoadedCompletely = false;
-            classInfo.settingsLoaded = true;
-            info.put(className, classInfo);
-        }
+        ClassInfo classInfo = get(className);
+        classInfo.settingsLoadedCompletely = false;
+        classInfo.settingsLoaded = true;
     }
 
     /**
@@ -161,14 +184,8 @@ public class SettingClassInfo
     public static boolean getProblemsWithLoading(String className)
     {
 
-        if (info.containsKey(className))
-        {
-            if (info.get(className).settingsLoaded)
-            {
-                return !info.get(className).settingsLoadedCompletely;
-            }
-        }
-        return false;
+        ClassInfo classInfo = info.get(className);
+        return classInfo != null && classInfo.settingsLoaded && !classInfo.settingsLoadedCompletely;
     }
 
     /**
@@ -179,14 +196,11 @@ public class SettingClassInfo
     public static void add(String classname)
     {
 
-        if (!info.containsKey(classname))
-        {
-            info.put(classname, new ClassInfo());
-        }
+        get(classname);
     }
 
     /**
-     * This returns a Set of all Classes with SettingsProperties.
+     * This returns a Set of all Classes with SettingsProperties. The Set can be read while other threads add classes.
      *
      * @return A Set of all Classes with SettingsProperties.
      */
@@ -196,6 +210,23 @@ public class SettingClassInfo
         return info.keySet();
     }
 
+    /**
+     * This returns the information about the class and creates them, if they don't exist yet.
+     *
+     * @param className The absolute Classname (e.g. org.asdfgamer.utils.config.SettingsEnum)
+     * @return The information about the class.
+     */
+    private static ClassInfo get(String className)
+    {
+
+        ClassInfo classInfo = info.get(className);
+        if (classInfo == null)
+        {
+            classInfo = info.computeIfAbsent(className, name -> new ClassInfo());
+        }
+        return classInfo;
+    }
+
 
     /**
      * This is the Information that gets saved for a Class.
@@ -206,22 +237,37 @@ public class SettingClassInfo
         /**
          * This shows if a Setting in this Class got changed.
          */
-        private boolean changed = false;
+        private volatile boolean changed = false;
+
+        /**
+         * This shows how often a Setting in this Class got changed.
+         */
+        private final AtomicInteger changes = new AtomicInteger();
 
         /**
          * This shows how many Settings are in the Class.
          */
-        private int settings = 0;
+        private final AtomicInteger settings = new AtomicInteger();
+
+        /**
+         * This shows how many Settings of this Class were created with an explicit owner.
+         */
+        private final AtomicInteger createdSettings = new AtomicInteger();
+
+        /**
+         * This shows how many Settings were registered for this Class.
+         */
+        private final AtomicInteger registeredSettings = new AtomicInteger();
 
         /**
          * This shows if the settings of this class got already loaded.
          */
-        private boolean settingsLoaded = false;
+        private volatile boolean settingsLoaded = false;
 
         /**
          * This indicates if all Settings were loaded successfully the last time.
          * If {@link ClassInfo#settingsLoaded}==false then is this field unimportant.
          */
-        private boolean settingsLoadedCompletely = true;
+        private volatile boolean settingsLoadedCompletely = true;
     }
 }
@@ -0,0 +1,365 @@
+package org.asdfgamer.utils.config;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This holds the values of one Setting. Only the store for the type of the Setting exists, e.g. an integer Setting has
+ * only an int array. The values aren't boxed.
+ * <p>
+ * Only String Settings and Enum Settings whose values aren't resolved yet keep Strings. The Strings of the other
+ * Settings, which get returned by {@link Setting#get()} and saved to the files, are created from the values when they
+ * are needed. Enum values get resolved from the Strings when they are needed, because the Enum may not be initialised
+ * when the value gets set.
+ * <p>
+ * The values can't be changed. Every change returns new values, so a Setting can publish them with one write and every
+ * thread that reads them sees all values of one version.
+ *
+ * @author ASDFGamer
+ */
+final class SettingValues
+{
+
+    /**
+     * This is the type of the values.
+     */
+    private final SettingsPropertyTypes type;
+
+    /**
+     * This is the number of values.
+     */
+    private final int length;
+
+    /**
+     * This are the values, if the type is {@link SettingsPropertyTypes#String} or if the type is
+     * {@link SettingsPropertyTypes#Enum} and they aren't resolved yet. Otherwise this is null.
+     */
+    private final String[] strings;
+
+    /**
+     * This are the values, if the type is {@link SettingsPropertyTypes#Integer}.
+     */
+    private final int[] integers;
+
+    /**
+     * This are the values, if the type is {@link SettingsPropertyTypes#Double}.
+     */
+    private final double[] doubles;
+
+    /**
+     * This are the values, if the type is {@link SettingsPropertyTypes#Boolean}.
+     */
+    private final BitSet booleans;
+
+    /**
+     * This are the values, if the type is {@link SettingsPropertyTypes#Enum} and they are already resolved.
+     * Otherwise this is null.
+     */
+    private final Enum<?>[] enums;
+
+    /**
+     * This creates empty values of the given type.
+     *
+     * @param type The type of the values.
+     */
+    SettingValues(SettingsPropertyTypes type)
+    {
+        this(type, 0,
+                type == SettingsPropertyTypes.String || type == SettingsPropertyTypes.Enum ? new String[0] : null,
+                type == SettingsPropertyTypes.Integer ? new int[0] : null,
+                type == SettingsPropertyTypes.Double ? new double[0] : null,
+                type == SettingsPropertyTypes.Boolean ? new BitSet() : null,
+                null);
+    }
+
+    private SettingValues(SettingsPropertyTypes type, int length, String[] strings, int[] integers, double[] doubles, BitSet booleans, Enum<?>[] enums)
+    {
+        this.type = type;
+        this.length = length;
+        this.strings = strings;
+        this.integers = integers;
+        this.doubles = doubles;
+        this.booleans = booleans;
+        this.enums = enums;
+    }
+
+    /**
+     * This returns the type of the values.
+     *
+     * @return The type of the values.
+     */
+    SettingsPropertyTypes getType()
+    {
+        return type;
+    }
+
+    /**
+     * This returns the number of values.
+     *
+     * @return The number of values.
+     */
+    int length()
+    {
+        return length;
+    }
+
+    /**
+     * This returns the value at the given index as String. Only String values and Enum values that aren't resolved are
+     * saved as String, all other values get converted.
+     *
+     * @param index The index of the value.
+     * @return The value as String.
+     */
+    String getString(int index)
+    {
+        checkIndex(index);
+        switch (type)
+        {
+            case Integer:
+                return String.valueOf(integers[index]);
+            case Double:
+                return String.valueOf(doubles[index]);
+            case Boolean:
+                return String.valueOf(booleans.get(index));
+            case Enum:
+                return enums != null ? toString(enums[index]) : strings[index];
+            default:
+                return strings[index];
+        }
+    }
+
+    int getInt(int index)
+    {
+        checkIndex(index);
+        return integers[index];
+    }
+
+    double getDouble(int index)
+    {
+        checkIndex(index);
+        return doubles[index];
+    }
+
+    boolean getBoolean(int index)
+    {
+        checkIndex(index);
+        return booleans.get(index);
+    }
+
+    /**
+     * This returns the Enum value at the given index.
+     *
+     * @param index The index of the value.
+     * @return The value or null if the Enum values aren't resolved.
+     */
+    Enum<?> getEnum(int index)
+    {
+        checkIndex(index);
+        return enums == null ? null : enums[index];
+    }
+
+    /**
+     * This returns all values as Strings.
+     *
+     * @return A List with all values that can't be changed.
+     */
+    List<String> getStrings()
+    {
+        return Collections.unmodifiableList(Arrays.asList(strings()));
+    }
+
+    /**
+     * This checks if the value at the given index is null. Only String values and Enum values that aren't resolved can
+     * be null.
+     *
+     * @param index The index of the value.
+     * @return true, if the value is null.
+     */
+    boolean isNull(int index)
+    {
+        checkIndex(index);
+        return enums == null && strings != null && strings[index] == null;
+    }
+
+    /**
+     * This checks if the value at the given index is the same as in the other values. The values are compared like
+     * their Strings, without converting them to Strings.
+     *
+     * @param index The index of the value, it has to exist in both values.
+     * @param other The other values of the same Setting.
+     * @return true, if the value at the index is the same.
+     */
+    boolean sameValue(int index, SettingValues other)
+    {
+        checkIndex(index);
+        other.checkIndex(index);
+        switch (type)
+        {
+            case Integer:
+                return integers[index] == other.integers[index];
+            case Double:
+                return Double.doubleToLongBits(doubles[index]) == Double.doubleToLongBits(other.doubles[index]);
+            case Boolean:
+                return booleans.get(index) == other.booleans.get(index);
+            case Enum:
+                if (enums != null && other.enums != null)
+                {
+                    return enums[index] == other.enums[index];
+                }
+                return Objects.equals(getString(index), other.getString(index));
+            default:
+                return Objects.equals(strings[index], other.strings[index]);
+        }
+    }
+
+    /**
+     * This shows if the Enum values are resolved from the Strings.
+     *
+     * @return true, if the Enum values can be used, otherwise false.
+     */
+    boolean isResolved()
+    {
+        return enums != null;
+    }
+
+    /**
+     * This returns the values with the resolved Enum values, the Strings aren't needed anymore. There has to be one
+     * value for every String.
+     *
+     * @param resolved The Enum values.
+     * @return The values with the resolved Enum values.
+     */
+    SettingValues withResolved(Enum<?>[] resolved)
+    {
+        return new SettingValues(type, length, null, null, null, null, Arrays.copyOf(resolved, length));
+    }
+
+    /**
+     * This returns the values with the new String value. This is only possible for String and Enum values, Enum values
+     * have to be resolved again afterwards.
+     *
+     * @param index The index of the value, this can be the next free index.
+     * @param value The new value.
+     * @return The new values.
+     * @throws IndexOutOfBoundsException if the index isn't set and isn't the next free index.
+     */
+    SettingValues withString(int index, String value)
+    {
+        if (type != SettingsPropertyTypes.String && type != SettingsPropertyTypes.Enum)
+        {
+            throw new IllegalStateException("The value of a " + type + " Setting can't be set as String only.");
+        }
+        int newLength = newLength(index);
+        String[] newStrings = Arrays.copyOf(strings(), newLength);
+        newStrings[index] = value;
+        return new SettingValues(type, newLength, newStrings, null, null, null, null);
+    }
+
+    /**
+     * This returns the values with the new integer value.
+     *
+     * @param index The index of the value, this can be the next free index.
+     * @param value The new value.
+     * @return The new values.
+     * @throws IndexOutOfBoundsException if the index isn't set and isn't the next free index.
+     */
+    SettingValues withInt(int index, int value)
+    {
+        int newLength = newLength(index);
+        int[] newIntegers = Arrays.copyOf(integers, newLength);
+        newIntegers[index] = value;
+        return new SettingValues(type, newLength, null, newIntegers, null, null, null);
+    }
+
+    SettingValues withDouble(int index, double value)
+    {
+        int newLength = newLength(index);
+        double[] newDoubles = Arrays.copyOf(doubles, newLength);
+        newDoubles[index] = value;
+        return new SettingValues(type, newLength, null, null, newDoubles, null, null);
+    }
+
+    SettingValues withBoolean(int index, boolean value)
+    {
+        int newLength = newLength(index);
+        BitSet newBooleans = (BitSet) booleans.clone();
+        newBooleans.set(index, value);
+        return new SettingValues(type, newLength, null, null, null, newBooleans, null);
+    }
+
+    /**
+     * This returns the values with the new Enum value. The Enum values have to be resolved before.
+     *
+     * @param index The index of the value, this can be the next free index.
+     * @param value The new value.
+     * @return The new values.
+     * @throws IndexOutOfBoundsException if the index isn't set and isn't the next free index.
+     */
+    SettingValues withEnum(int index, Enum<?> value)
+    {
+        if (enums == null)
+        {
+            throw new IllegalStateException("The Enum values aren't resolved.");
+        }
+        int newLength = newLength(index);
+        Enum<?>[] newEnums = Arrays.copyOf(enums, newLength);
+        newEnums[index] = value;
+        return new SettingValues(type, newLength, null, null, null, null, newEnums);
+    }
+
+    /**
+     * This returns the String of an Enum value, like it gets saved.
+     *
+     * @param value The Enum value.
+     * @return The name of the Enum, a dot and the value.
+     */
+    static String toString(Enum<?> value)
+    {
+        return value.getDeclaringClass().getName() + "." + value.toString();
+    }
+
+    /**
+     * This returns the values as Strings. They are only created, if the values aren't saved as Strings.
+     *
+     * @return The Strings, this must not be changed.
+     */
+    private String[] strings()
+    {
+        if (strings != null)
+        {
+            return strings;
+        }
+        String[] result = new String[length];
+        for (int i = 0; i < length; i++)
+        {
+            result[i] = getString(i);
+        }
+        return result;
+    }
+
+    /**
+     * This checks the index for a new value and returns the number of values afterwards.
+     *
+     * @param index The index of the new value, this can be the next free index.
+     * @return The number of values with the new value.
+     */
+    private int newLength(int index)
+    {
+        if (index != length)
+        {
+            checkIndex(index);
+        }
+        return Math.max(length, index + 1);
+    }
+
+    private void checkIndex(int index)
+    {
+        if (index < 0 || index >= length)
+        {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + length);
+        }
+    }
+}
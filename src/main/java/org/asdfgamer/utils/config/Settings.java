@@ -1,8 +1,10 @@
 package org.asdfgamer.utils.config;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.ResourceBundle;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Logger;
 
 import static java.util.logging.Logger.getLogger;
@@ -123,12 +125,38 @@ public class Settings
     }
 
     public static Setting newSetting(Object[] args)
+    {
+        return parseArguments(args).build();
+    }
+
+    /**
+     * This creates a Setting that belongs to the given class. The class doesn't have to be searched in the stack, so
+     * this is faster than the other methods, especially if an Enum declares many Settings.
+     * <p>
+     * If the owner is an Enum, all its Settings should be created with this method, because the order of the Settings
+     * is the order in which they are created.
+     *
+     * @param owner The class in which the setting is declared.
+     * @param args  This are the arguments that get used to create the Setting.
+     * @return The new Setting
+     */
+    public static Setting newSetting(Class<?> owner, Object... args)
+    {
+        return parseArguments(args).setOwner(owner).build();
+    }
+
+    /**
+     * This creates the SettingsBuilder for the given arguments.
+     *
+     * @param args This are the arguments that get used to create the Setting.
+     * @return The SettingsBuilder with the default value(s) from the arguments.
+     */
+    private static SettingsBuilder parseArguments(Object[] args)
     {
         if (args == null || args.length == 0)
         {
-            return newSetting();
+            return new SettingsBuilder();
         }
-        SettingsBuilder settingsBuilder;
         if (args.length > 1)
         {
             Class aClass = args[0].getClass();
@@ -139,12 +167,9 @@ public class Settings
                     throw new IllegalArgumentException(bundle.getString("AllSameType"));
                 }
             }
-            settingsBuilder = parseElements(args);
-        } else
-        {
-            settingsBuilder = parseArgument(args[0]);
+            return parseElements(args);
         }
-        return settingsBuilder.build();
+        return parseArgument(args[0]);
     }
 
     //Settings from Elements
@@ -229,7 +254,22 @@ public class Settings
     }
 
     /**
-     * This Method saves all Settings to the given Storage.
+     * This Method saves the Settings from the given Class without waiting for the storage, if the storage can do that
+     * (e.g. {@link AsyncSettingsStorage}).
+     *
+     * @param settings This ist the Class with the settings.
+     *
+     * @return A future that completes with true, if saving was successful, otherwise false.
+     */
+    public CompletableFuture<Boolean> saveAsync(Object settings)
+    {
+
+        return STORAGE.saveAsync(getSettingsFromObject(settings));
+    }
+
+    /**
+     * This Method saves all Settings to the given Storage. A storage like {@link PropertiesFileStorage} skips the classes
+     * in which no Setting changed since it saved or loaded them the last time.
      *
      * @return true, if all settings could be saved, otherwise false.
      */
@@ -242,7 +282,7 @@ public class Settings
         {
             try
             {
-                result = STORAGE.save(getSettingsFromObject(Class.forName(classObj)));
+                result = STORAGE.save(getSettingsFromObject(Class.forName(classObj))) && result;
             } catch (ClassNotFoundException e)
             {
                 LOG.warning(bundle.getString("classToSaveNotFound_start") + classObj + bundle.getString("classToSaveNotFound_end"));
@@ -261,11 +301,28 @@ public class Settings
      * @return true, if all settings loaded successful, otherwise false.
      */
     public boolean load()
+    {
+
+        return load(1);
+    }
+
+    /**
+     * This loads the Setting for all Classes and lets the storage read up to the given number of classes at the same
+     * time, if it can do that (e.g. {@link PropertiesFileStorage}). The Settings still get their values one class
+     * after the other on the calling thread, so the listeners get informed like with {@link #load()}.
+     * If you want to check if one specific class got loaded successfully you have to use {@link SettingClassInfo}
+     * after this.
+     *
+     * @param threads This is the maximal number of threads that read the Settings.
+     * @return true, if all settings loaded successful, otherwise false.
+     */
+    public boolean load(int threads)
     {
 
         Set<String> classes = SettingClassInfo.getClasses();
 
         boolean result = true;
+        List<List<Setting>> settingsOfClasses = new ArrayList<>(classes.size());
         for (String className : classes)
         {
             try
@@ -273,7 +330,7 @@ public class Settings
                 List<Setting> settings = getSettingsFromObject(Class.forName(className));
                 if (!settings.isEmpty())
                 {
-                    result = STORAGE.load(settings) && result;
+                    settingsOfClasses.add(settings);
                 }
             } catch (ClassNotFoundException e)
             {
@@ -281,7 +338,7 @@ public class Settings
                 result = false;
             }
         }
-        return result;
+        return STORAGE.loadAll(settingsOfClasses, threads) && result;
     }
 
     //OTHER functions
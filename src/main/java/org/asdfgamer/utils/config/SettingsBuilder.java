@@ -7,7 +7,6 @@ import java.util.List;
 import java.util.logging.Logger;
 
 import static java.util.logging.Logger.getLogger;
-import static org.asdfgamer.utils.config.internal.SettingUtils.bundle;
 
 /**
  * This builder is used to create settings and add all necessary values.
@@ -18,6 +17,11 @@ class SettingsBuilder
 
     private final static Logger LOG = getLogger(SettingsBuilder.class.getName());
 
+    /**
+     * This is used to find the class that creates the setting. It only walks the frames it needs.
+     */
+    private final static StackWalker STACK_WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
     private String defaultValue = "";
 
     private int lineNumber = -1;
@@ -38,6 +42,8 @@ class SettingsBuilder
 
     private List<String> defaultValueList = null;
 
+    private Class<?> owner = null;
+
     /**
      * This builder can only be used by classes from this package.
      */
@@ -83,10 +89,7 @@ class SettingsBuilder
                 setting.setMinimumValue(minimumValue);
             }
         }
-        if (changeListener)
-        {
-            setting.addListener(SettingsListener.getSettingChange(setting));
-        }
+        setting.setChangeTracking(changeListener);
 
         setting.setSettingsInformation(info);
         return setting;
@@ -94,43 +97,57 @@ class SettingsBuilder
 
     /**
      * This adds the Class in which the setting ist declared to the list of all classes with settings.
+     * If no owner was given this is the first class on the stack that isn't part of the creation of the setting.
      */
     private void addClass()
     {
-        if (Thread.currentThread().getStackTrace()[4].getClassName().equals(Settings.class.getName()))
+        if (owner != null)
         {
-
-            className = Thread.currentThread().getStackTrace()[5].getClassName();
-            setLine(Thread.currentThread().getStackTrace()[5]);
+            className = owner.getName();
+            if (owner.isEnum())
+            {
+                //There is no stack to read the line from, but the order of the Settings in the Enum sorts the same way.
+                lineNumber = SettingClassInfo.nextSettingIndex(className);
+            }
         } else
         {
-            className = Thread.currentThread().getStackTrace()[4].getClassName();
-            setLine(Thread.currentThread().getStackTrace()[4]);
+            StackWalker.StackFrame caller = STACK_WALKER.walk(frames -> frames
+                    .filter(frame -> frame.getDeclaringClass() != SettingsBuilder.class && frame.getDeclaringClass() != Settings.class)
+                    .findFirst()).orElseThrow(IllegalStateException::new);
+            className = caller.getClassName();
+            setLine(caller);
         }
 
-        SettingClassInfo.add(className);
+        SettingClassInfo.register(className);
     }
 
     /**
      * This gets the Line number of the property if it is can (the class is an enum) and saves it in the property.
      *
-     * @param element The Element from the stacktrace.
+     * @param frame The frame of the class that creates the setting.
      */
-    private void setLine(StackTraceElement element)
+    private void setLine(StackWalker.StackFrame frame)
     {
 
-        try
+        if (frame.getDeclaringClass().isEnum())//Test if this can work with normal classes. (It cant find the declaration only the initialisation).
         {
-            if (Class.forName(element.getClassName()).isEnum())//Test if this can work with normal classes. (It cant find the declaration only the initialisation).
-            {
-                this.lineNumber = element.getLineNumber();
-            }
-        } catch (ClassNotFoundException e)
-        {
-            LOG.fine(bundle.getString("classNotFound") + element.getClassName() + "'.");
+            this.lineNumber = frame.getLineNumber();
         }
     }
 
+    /**
+     * This sets the class in which the setting is declared. If this is set, the class doesn't get searched in the stack.
+     *
+     * @param owner The class in which the setting is declared.
+     * @return The used SettingsBuilder
+     */
+    SettingsBuilder setOwner(Class<?> owner)
+    {
+
+        this.owner = owner;
+        return this;
+    }
+
     /**
      * This sets the default value
      *
@@ -172,10 +189,10 @@ class SettingsBuilder
     }
 
     /**
-     * This sets if this setting should have the ChangeListener.
+     * This sets if this setting should note when its value changed, see {@link Setting#getSettingChanged()}.
      * By default this is true.
      *
-     * @param add This sets if this setting should haven the ChangeListener.
+     * @param add This sets if this setting should note its changes.
      * @return The used SettingsBuilder
      */
     SettingsBuilder addChangeListener(boolean add)
@@ -35,7 +35,7 @@ public enum SettingsConfig
     SettingsConfig(Object... args)
     {
 
-        SETTING = Settings.newSetting(args);
+        SETTING = Settings.newSetting(SettingsConfig.class, args);
     }
 
     /*
@@ -1,6 +1,7 @@
 package org.asdfgamer.utils.config;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * This Interface is used to give different storage possibilities for the settings.
@@ -20,6 +21,26 @@ public interface SettingsStorage
      */
     boolean load(List<Setting> settings);
 
+    /**
+     * This loads the Settings of many classes. A storage can load the classes with up to the given number of threads
+     * at the same time, but the Settings have to get their values on the calling thread in the order of the List.
+     * By default this loads one class after the other with {@link #load(List)}.
+     *
+     * @param settingsOfClasses This are the Settings that should be loaded, one List for every class.
+     * @param threads           This is the maximal number of threads that should be used.
+     * @return true, if there was no problem while loading the Settings, otherwise false.
+     */
+    default boolean loadAll(List<List<Setting>> settingsOfClasses, int threads)
+    {
+
+        boolean result = true;
+        for (List<Setting> settings : settingsOfClasses)
+        {
+            result = load(settings) && result;
+        }
+        return result;
+    }
+
     /**
      * This saves all Settings from the List.
      *
@@ -28,4 +49,17 @@ public interface SettingsStorage
      */
     boolean save(List<Setting> settings);
 
+    /**
+     * This saves all Settings from the List without waiting for the storage, if the storage can do that. By default
+     * this saves the Settings directly, like {@link #save(List)}.
+     *
+     * @param settings This is a List with all Settings that should be saved.
+     * @return A future that completes with true, if there was no problem while saving the Settings, otherwise false.
+     */
+    default CompletableFuture<Boolean> saveAsync(List<Setting> settings)
+    {
+
+        return CompletableFuture.completedFuture(save(settings));
+    }
+
 }
@@ -0,0 +1,126 @@
+package org.asdfgamer.utils.config.gui;
+
+import javafx.beans.property.SimpleStringProperty;
+import org.asdfgamer.utils.config.Setting;
+import org.asdfgamer.utils.config.SettingChangeListener;
+
+import java.util.Objects;
+import java.util.logging.Logger;
+
+import static org.asdfgamer.utils.config.internal.SettingUtils.bundle;
+
+/**
+ * This connects a value of a Setting with JavaFX. Changes of the Setting are shown in this property and values that
+ * are set or bound to this property are set in the Setting. Values that the Setting doesn't accept are reset to the
+ * value of the Setting.
+ * <p>
+ * The Setting keeps a reference to this property, so {@link #dispose()} should be called when it isn't needed anymore.
+ *
+ * @author ASDFGamer
+ */
+@SuppressWarnings("WeakerAccess")
+public class SettingProperty extends SimpleStringProperty
+{
+
+    private static final Logger LOG = Logger.getLogger(SettingProperty.class.getName());
+
+    private final Setting setting;
+
+    private final int index;
+
+    /**
+     * This shows if the value currently gets copied from the Setting, so that it isn't set in the Setting again.
+     */
+    private boolean updating = false;
+
+    private final SettingChangeListener settingListener = this::settingChanged;
+
+    /**
+     * This creates a property for the first value of the Setting.
+     *
+     * @param setting The Setting.
+     */
+    public SettingProperty(Setting setting)
+    {
+        this(setting, 0);
+    }
+
+    /**
+     * This creates a property for the value at the given index.
+     *
+     * @param setting The Setting.
+     * @param index   The index of the value.
+     */
+    public SettingProperty(Setting setting, int index)
+    {
+        super(setting, null, setting.get(index));
+        this.setting = setting;
+        this.index = index;
+        setting.addListener(settingListener, index != 0);
+    }
+
+    /**
+     * This returns the Setting of this property.
+     *
+     * @return The Setting.
+     */
+    public Setting getSetting()
+    {
+        return setting;
+    }
+
+    /**
+     * This returns the name of the Setting.
+     *
+     * @return The name of the Setting.
+     */
+    @Override
+    public String getName()
+    {
+        return setting.getSettingName();
+    }
+
+    /**
+     * This removes the connection to the Setting, afterwards changes of the Setting aren't shown anymore.
+     */
+    public void dispose()
+    {
+        setting.removeListener(settingListener, index != 0);
+    }
+
+    /**
+     * This shows the new value of the Setting in this property.
+     */
+    private void settingChanged(Setting setting, int index, String oldValue, String newValue)
+    {
+        if (index == this.index && !isBound())
+        {
+            updating = true;
+            try
+            {
+                set(newValue);
+            } finally
+            {
+                updating = false;
+            }
+        }
+    }
+
+    @Override
+    protected void invalidated()
+    {
+        String value = get();
+        if (updating || Objects.equals(value, setting.get(index)))
+        {
+            return;
+        }
+        if (!setting.setString(value, index))
+        {
+            LOG.info(bundle.getString("invalidPropertyValue") + " " + value);
+            if (!isBound())
+            {
+                set(setting.get(index));
+            }
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package org.asdfgamer.utils.config.internal;
+
+import org.asdfgamer.utils.config.Setting;
+import org.asdfgamer.utils.config.SettingClassInfo;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.logging.Logger;
+
+import static java.util.logging.Logger.getLogger;
+import static org.asdfgamer.utils.config.internal.SettingUtils.bundle;
+
+/**
+ * This finds all Settings of a class or an Enum. The fields and methods with the Settings are only searched once per
+ * class and then read with MethodHandles. The found Settings are kept until a new Setting gets registered for the class
+ * in {@link SettingClassInfo}, so that loading and saving a class again doesn't need any reflection.
+ *
+ * @author ASDFGamer
+ */
+final class SettingAccessors
+{
+
+    private final static Logger LOG = getLogger(SettingAccessors.class.getName());
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final ClassValue<SettingAccessors> ACCESSORS = new ClassValue<SettingAccessors>()
+    {
+        @Override
+        protected SettingAccessors computeValue(Class<?> type)
+        {
+            return new SettingAccessors(type);
+        }
+    };
+
+    private final Class<?> type;
+
+    /**
+     * This are the getters for the Settings. Every getter gets the Enum element or null for static fields.
+     */
+    private final List<MethodHandle> getters = new ArrayList<>();
+
+    /**
+     * This are the Enum elements for the getters or null for static fields.
+     */
+    private final List<Object> receivers = new ArrayList<>();
+
+    /**
+     * This is false if the Enum wasn't fully initialised when the getters were searched.
+     */
+    private boolean complete = true;
+
+    /**
+     * This are the last found Settings.
+     */
+    private volatile Resolved resolved = null;
+
+    private SettingAccessors(Class<?> type)
+    {
+        this.type = type;
+        if (type.isEnum())
+        {
+            addEnumElements();
+        } else
+        {
+            addStaticFields();
+        }
+    }
+
+    /**
+     * This returns all Settings of the class or Enum.
+     *
+     * @param type The class or Enum with the Settings.
+     * @return A new List with all Settings, in the order of the fields or Enum elements.
+     */
+    static List<Setting> getSettings(Class<?> type)
+    {
+        SettingAccessors accessors = ACCESSORS.get(type);
+        if (!accessors.complete)
+        {
+            ACCESSORS.remove(type);
+            accessors = ACCESSORS.get(type);
+        }
+        return new ArrayList<>(accessors.getSettings());
+    }
+
+    private List<Setting> getSettings()
+    {
+        int registered = SettingClassInfo.getRegisteredSettings(type.getName());
+        Resolved last = resolved;
+        if (last == null || last.registered != registered)
+        {
+            last = new Resolved(registered, readSettings());
+            resolved = last;
+        }
+        return last.settings;
+    }
+
+    private List<Setting> readSettings()
+    {
+        Set<Setting> settings = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Setting> result = new ArrayList<>(getters.size());
+        for (int i = 0; i < getters.size(); i++)
+        {
+            try
+            {
+                Object value = getters.get(i).invokeExact(receivers.get(i));
+                if (value instanceof Setting && settings.add((Setting) value))
+                {
+                    result.add((Setting) value);
+                }
+            } catch (Throwable e)
+            {
+                LOG.severe(bundle.getString("cantLoadSetting") + type.getName());
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    private void addStaticFields()
+    {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        for (Field field : type.getDeclaredFields())
+        {
+            int modifiers = field.getModifiers();
+            if (Modifier.isPublic(modifiers) && Modifier.isStatic(modifiers) && field.getType().isAssignableFrom(Setting.class))
+            {
+                try
+                {
+                    MethodHandle getter = lookup.unreflectGetter(field).asType(MethodType.methodType(Object.class));
+                    add(MethodHandles.dropArguments(getter, 0, Object.class), null);
+                } catch (IllegalAccessException e)
+                {
+                    LOG.fine(e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void addEnumElements()
+    {
+        Object[] elements = type.getEnumConstants();
+        if (elements == null)
+        {
+            complete = false;
+            return;
+        }
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        for (Object element : elements)
+        {
+            for (Method method : element.getClass().getDeclaredMethods())
+            {
+                if (method.getReturnType().equals(Setting.class) && method.getParameterCount() == 0)
+                {
+                    try
+                    {
+                        MethodHandle getter = lookup.unreflect(method);
+                        if (Modifier.isStatic(method.getModifiers()))
+                        {
+                            getter = MethodHandles.dropArguments(getter, 0, Object.class);
+                        }
+                        add(getter, element);
+                    } catch (IllegalAccessException e)
+                    {
+                        LOG.warning(bundle.getString("problemWithFunctionCall") + method.getName() + " \n" + bundle.getString("problemWithFunctionCallInfo"));
+                    }
+                }
+            }
+        }
+    }
+
+    private void add(MethodHandle getter, Object receiver)
+    {
+        getters.add(getter.asType(GETTER_TYPE));
+        receivers.add(receiver);
+    }
+
+    /**
+     * This are the Settings that were found, when the given number of Settings was registered for the class.
+     */
+    private static final class Resolved
+    {
+
+        private final int registered;
+
+        private final List<Setting> settings;
+
+        private Resolved(int registered, List<Setting> settings)
+        {
+            this.registered = registered;
+            this.settings = settings;
+        }
+    }
+}
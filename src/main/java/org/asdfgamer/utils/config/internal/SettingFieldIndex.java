@@ -0,0 +1,208 @@
+package org.asdfgamer.utils.config.internal;
+
+import org.asdfgamer.utils.config.Setting;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import static java.util.logging.Logger.getLogger;
+import static org.asdfgamer.utils.config.internal.SettingUtils.bundle;
+
+/**
+ * This finds the field of a Setting in the class that declares it. The fields of every class are only searched once and
+ * saved by the identity of the Setting, so that naming all Settings of a class doesn't have to look at all fields for
+ * every Setting. Fields that have no value yet, because the class gets initialised, are read again when they are
+ * needed.
+ * <p>
+ * For a class these are the public static fields with a Setting, for an Enum these are the Enum elements and their
+ * methods that return a Setting.
+ *
+ * @author ASDFGamer
+ */
+final class SettingFieldIndex
+{
+
+    private final static Logger LOG = getLogger(SettingFieldIndex.class.getName());
+
+    private static final ClassValue<SettingFieldIndex> INDEX = new ClassValue<SettingFieldIndex>()
+    {
+        @Override
+        protected SettingFieldIndex computeValue(Class<?> type)
+        {
+            return new SettingFieldIndex(type);
+        }
+    };
+
+    /**
+     * This are the fields by the Setting they contain.
+     */
+    private final Map<Setting, Field> fields = new IdentityHashMap<>();
+
+    /**
+     * This are the fields that had no value (or Enum elements with a method that returned no Setting) yet, because the
+     * class wasn't fully initialised when they were read. They get read again when a Setting isn't found.
+     */
+    private final List<Field> pending = new ArrayList<>();
+
+    /**
+     * This are the methods that return a Setting of every class of an Enum element.
+     */
+    private final Map<Class<?>, List<Method>> settingMethods = new HashMap<>();
+
+    private final boolean enumType;
+
+    /**
+     * This shows if all fields were read. After that the index doesn't change anymore and can be read without a lock.
+     */
+    private volatile boolean complete;
+
+    private SettingFieldIndex(Class<?> type)
+    {
+        this.enumType = type.isEnum();
+        for (Field field : enumType ? type.getFields() : type.getDeclaredFields())
+        {
+            if (!add(field))
+            {
+                pending.add(field);
+            }
+        }
+        this.complete = pending.isEmpty();
+    }
+
+    /**
+     * This returns the field that contains the Setting.
+     *
+     * @param type    The class that declares the Setting.
+     * @param setting The Setting.
+     * @return The field or the Enum element of the Setting or null, if the class has no field with this Setting.
+     */
+    static Field getField(Class<?> type, Setting setting)
+    {
+        SettingFieldIndex index = INDEX.get(type);
+        if (index.complete)
+        {
+            return index.fields.get(setting);
+        }
+        synchronized (index)
+        {
+            Field field = index.fields.get(setting);
+            return field != null ? field : index.readPending(setting);
+        }
+    }
+
+    /**
+     * This reads the fields without a value again, until the Setting is found. The Setting might be created after the
+     * index was built. Only these fields get read again, so creating all Settings of a class doesn't build the index
+     * again for every Setting.
+     *
+     * @param setting The Setting.
+     * @return The field of the Setting or null, if no field contains it yet.
+     */
+    private Field readPending(Setting setting)
+    {
+        Field field = null;
+        Iterator<Field> iterator = pending.iterator();
+        while (field == null && iterator.hasNext())
+        {
+            if (add(iterator.next()))
+            {
+                iterator.remove();
+            }
+            field = fields.get(setting);
+        }
+        complete = pending.isEmpty();
+        return field;
+    }
+
+    /**
+     * This adds the Settings of the field to the index.
+     *
+     * @param field The field of the class or the Enum element.
+     * @return false, if the field or a Setting of the Enum element has no value yet, otherwise true.
+     */
+    private boolean add(Field field)
+    {
+        return enumType ? addEnumElement(field) : addStaticField(field);
+    }
+
+    private boolean addStaticField(Field field)
+    {
+        int modifiers = field.getModifiers();
+        if (!Modifier.isPublic(modifiers) || !Modifier.isStatic(modifiers))
+        {
+            return true;
+        }
+        try
+        {
+            return add(field.get(null), field);
+        } catch (IllegalAccessException e)
+        {
+            LOG.fine(e.getMessage());
+            return true;
+        }
+    }
+
+    private boolean addEnumElement(Field field)
+    {
+        try
+        {
+            Object element = field.get(null);
+            if (element == null)
+            {
+                return !field.isEnumConstant();
+            }
+            boolean found = true;
+            for (Method method : settingMethods.computeIfAbsent(element.getClass(), SettingFieldIndex::findSettingMethods))
+            {
+                Object setting = method.invoke(element);
+                found &= setting != null;
+                add(setting, field);
+            }
+            return found;
+        } catch (ReflectiveOperationException e)
+        {
+            LOG.warning(bundle.getString("problemWithFunctionCall") + field.getName() + " \n" + bundle.getString("problemWithFunctionCallInfo"));
+            return true;
+        }
+    }
+
+    private static List<Method> findSettingMethods(Class<?> type)
+    {
+        List<Method> methods = new ArrayList<>();
+        for (Method method : type.getMethods())
+        {
+            if (method.getReturnType().equals(Setting.class) && method.getParameterCount() == 0)
+            {
+                methods.add(method);
+            }
+        }
+        return methods;
+    }
+
+    /**
+     * This adds the Setting to the index.
+     *
+     * @param value The value of the field.
+     * @param field The field.
+     * @return false, if the field can contain a Setting but has no value yet, otherwise true.
+     */
+    private boolean add(Object value, Field field)
+    {
+        if (value instanceof Setting)
+        {
+            fields.putIfAbsent((Setting) value, field);
+        } else if (value == null && field.getType().isAssignableFrom(Setting.class))
+        {
+            return false;
+        }
+        return true;
+    }
+}
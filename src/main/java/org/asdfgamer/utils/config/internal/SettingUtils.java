@@ -72,48 +72,6 @@ public class SettingUtils
         return settings;
     }
 
-    /**
-     * This finds all SettingsProperties from the given Enum and returns them as List.
-     *
-     * @param enumObject The Class-object of the enum
-     * @return A List with all Settings
-     */
-    private static List<Setting> getSettingsFromEnum(Object enumObject)
-    {
-
-        if (Utils.isEnumElement(enumObject))
-        {
-            List<Setting> settings = new LinkedList<>();
-            Object[] enumConstants = ((Class) enumObject).getEnumConstants();
-            for (Object enumConstant : enumConstants)
-            {
-                Method[] methods = enumConstant.getClass().getDeclaredMethods();
-                for (Method method : methods)
-                {
-                    if (method.getReturnType().equals(Setting.class))
-                    {
-                        try
-                        {
-                            Setting setting = (Setting) method.invoke(enumConstant);
-                            //setting.setSettingName(((Enum) enumConstant).name());
-                            if (!settings.contains(setting))
-                            {
-                                settings.add(setting);
-                            }
-                        } catch (ReflectiveOperationException e)
-                        {
-                            LOG.warning(bundle.getString("problemWithFunctionCall") + method.getName() + " \n" + bundle.getString("problemWithFunctionCallInfo"));
-                        }
-                    }
-                }
-
-            }
-
-            return settings;
-        }
-        return null;
-    }
-
     /**
      * This creates a Map which has in the Classname as Key and as value a List with all Settings of that Class.
      *
@@ -148,12 +106,22 @@ public class SettingUtils
     @SuppressWarnings("SpellCheckingInspection")
     public static String[] TRUE_VALUES = {"true"};
 
+    /**
+     * This returns all Settings of the given class, Enum or object. The Settings of classes and Enums are cached until
+     * a new Setting of that class gets created.
+     *
+     * @param object The class or Enum with static Settings or an object with Settings in its fields.
+     * @return A List with all Settings.
+     */
     public static List<Setting> getSettingsFromObject(Object object)
     {
 
-        if (Utils.isEnumElement(object))
+        if (object instanceof Class)
+        {
+            return SettingAccessors.getSettings((Class<?>) object);
+        } else if (object instanceof Enum)
         {
-            return getSettingsFromEnum(object);
+            return SettingAccessors.getSettings(((Enum) object).getDeclaringClass());
         } else
         {
             return getSettingsFromClass(object);
@@ -237,14 +205,8 @@ public class SettingUtils
         }
         try
         {
-            if (setting.getSettingName() != null && !setting.getSettingName().isEmpty())
-            {
-                return Class.forName(setting.getClassName()).getField(setting.getSettingName());
-            } else
-            {
-                return Utils.getStaticField(Class.forName(setting.getClassName()), setting);
-            }
-        } catch (ClassNotFoundException | NoSuchFieldException e)
+            return SettingFieldIndex.getField(Class.forName(setting.getClassName()), setting);
+        } catch (ClassNotFoundException e)
         {
             e.printStackTrace();
         }
@@ -4,7 +4,7 @@ import org.asdfgamer.utils.config.Setting;
 import org.asdfgamer.utils.config.Settings;
 import org.asdfgamer.utils.config.annotations.SettingInfo;
 
-import java.util.Map;
+import java.lang.reflect.Field;
 import java.util.logging.Logger;
 
 import static java.util.logging.Logger.getLogger;
@@ -23,7 +23,7 @@ public class SettingsInformation
     /**
      * This notes that something changed in some setting.
      */
-    private static boolean anySettingChanged = false;
+    private static volatile boolean anySettingChanged = false;
 
     /**
      * This text shows some information about the setting.
@@ -221,17 +221,10 @@ public class SettingsInformation
      *
      * @return true, if it was successful, otherwise false.
      */
-    private boolean setSettingNamesClass(Class settings, Setting property)
+    private boolean setSettingNamesClass(Class<?> settings, Setting property)
     {
-        Map<String, Setting> stringSettingsPropertyMap = SettingUtils.getFields(settings);
-        for (Map.Entry<String, Setting> entry : stringSettingsPropertyMap.entrySet())
-        {
-            if (entry.getValue() != null && entry.getValue().equals(property))
-            {
-                return setSettingName(entry.getKey());
-            }
-        }
-        return false;
+        Field field = SettingFieldIndex.getField(settings, property);
+        return field != null && setSettingName(field.getName());
     }
 
     public void setSettings(Setting setting)
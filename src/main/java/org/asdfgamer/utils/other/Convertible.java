@@ -5,7 +5,7 @@ package org.asdfgamer.utils.other;
  *
  * @author ASDFGamer
  */
-@SuppressWarnings({"unused", "ResultOfMethodCallIgnored"})
+@SuppressWarnings("unused")
 public class Convertible
 {
 
@@ -58,14 +58,7 @@ public class Convertible
     static public boolean toByte(String zahl)
     {
 
-        try
-        {
-            Byte.parseByte(zahl);
-        } catch (NumberFormatException e)
-        {
-            return false;
-        }
-        return true;
+        return isInteger(zahl, Byte.MIN_VALUE, Byte.MAX_VALUE);
     }
 
     /**
@@ -77,14 +70,7 @@ public class Convertible
     static public boolean toShort(String zahl)
     {
 
-        try
-        {
-            Short.parseShort(zahl);
-        } catch (NumberFormatException e)
-        {
-            return false;
-        }
-        return true;
+        return isInteger(zahl, Short.MIN_VALUE, Short.MAX_VALUE);
     }
 
     /**
@@ -96,14 +82,7 @@ public class Convertible
     static public boolean toInt(String zahl)
     {
 
-        try
-        {
-            Integer.parseInt(zahl);
-        } catch (NumberFormatException e)
-        {
-            return false;
-        }
-        return true;
+        return isInteger(zahl, Integer.MIN_VALUE, Integer.MAX_VALUE);
     }
 
     /**
@@ -115,53 +94,305 @@ public class Convertible
     static public boolean toLong(String zahl)
     {
 
-        try
+        return isInteger(zahl, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Dies zeigt, ob ein String zu Float konvertiert werden kann.
+     *
+     * @param zahl Der String
+     * @return true, wenn möglich, sonst false.
+     */
+    static public boolean toFloat(String zahl)
+    {
+
+        return isFloatingPoint(zahl);
+    }
+
+    /**
+     * Dies zeigt, ob ein String zu Double konvertiert werden kann.
+     *
+     * @param zahl Der String
+     * @return true, wenn möglich, sonst false.
+     */
+    static public boolean toDouble(String zahl)
+    {
+
+        return isFloatingPoint(zahl);
+    }
+
+    /**
+     * Dies wandelt einen String in einen int um, ohne dass eine Exception geworfen wird. Es werden dieselben Strings
+     * akzeptiert wie von {@link Integer#parseInt(String)}.
+     *
+     * @param zahl     Der String
+     * @param ergebnis Hierin wird die Zahl gespeichert, falls die Umwandlung möglich ist.
+     * @return true, wenn möglich, sonst false.
+     */
+    static public boolean tryParseInt(String zahl, ParseResult ergebnis)
+    {
+
+        return parseInteger(zahl, Integer.MIN_VALUE, Integer.MAX_VALUE, ergebnis);
+    }
+
+    /**
+     * Dies wandelt einen String in einen long um, ohne dass eine Exception geworfen wird. Es werden dieselben Strings
+     * akzeptiert wie von {@link Long#parseLong(String)}.
+     *
+     * @param zahl     Der String
+     * @param ergebnis Hierin wird die Zahl gespeichert, falls die Umwandlung möglich ist.
+     * @return true, wenn möglich, sonst false.
+     */
+    static public boolean tryParseLong(String zahl, ParseResult ergebnis)
+    {
+
+        return parseInteger(zahl, Long.MIN_VALUE, Long.MAX_VALUE, ergebnis);
+    }
+
+    /**
+     * Dies wandelt einen String in einen double um, ohne dass eine Exception geworfen wird. Es werden dieselben
+     * Strings akzeptiert wie von {@link Double#parseDouble(String)}.
+     *
+     * @param zahl     Der String
+     * @param ergebnis Hierin wird die Zahl gespeichert, falls die Umwandlung möglich ist.
+     * @return true, wenn möglich, sonst false.
+     */
+    static public boolean tryParseDouble(String zahl, ParseResult ergebnis)
+    {
+
+        if (isFloatingPoint(zahl))
         {
-            Long.parseLong(zahl);
-        } catch (NumberFormatException e)
+            return ergebnis.success(Double.parseDouble(zahl));
+        }
+        return ergebnis.failure();
+    }
+
+    /**
+     * Dies zeigt, ob ein String eine Ganzzahl im gegebenen Bereich ist.
+     *
+     * @param zahl    Der String
+     * @param minimum Die kleinste erlaubte Zahl.
+     * @param maximum Die größte erlaubte Zahl.
+     * @return true, wenn möglich, sonst false.
+     */
+    static private boolean isInteger(String zahl, long minimum, long maximum)
+    {
+
+        return parseInteger(zahl, minimum, maximum, new ParseResult());
+    }
+
+    /**
+     * Dies parst eine Ganzzahl genauso wie {@link Long#parseLong(String)}, nur dass keine Exception geworfen wird.
+     * Die Zahl wird negativ aufsummiert, da der negative Bereich größer ist.
+     *
+     * @param zahl     Der String
+     * @param minimum  Die kleinste erlaubte Zahl.
+     * @param maximum  Die größte erlaubte Zahl.
+     * @param ergebnis Hierin wird die Zahl gespeichert, falls die Umwandlung möglich ist.
+     * @return true, wenn möglich, sonst false.
+     */
+    static private boolean parseInteger(String zahl, long minimum, long maximum, ParseResult ergebnis)
+    {
+
+        if (zahl == null || zahl.isEmpty())
         {
-            return false;
+            return ergebnis.failure();
         }
-        return true;
+        int length = zahl.length();
+        int i = 0;
+        boolean negativ = false;
+        long grenze = -maximum;
+        char erstes = zahl.charAt(0);
+        if (erstes < '0')
+        {
+            if (erstes == '-')
+            {
+                negativ = true;
+                grenze = minimum;
+            } else if (erstes != '+')
+            {
+                return ergebnis.failure();
+            }
+            if (length == 1)
+            {
+                return ergebnis.failure();
+            }
+            i++;
+        }
+        long multiplikationsGrenze = grenze / 10;
+        long wert = 0;
+        while (i < length)
+        {
+            int ziffer = Character.digit(zahl.charAt(i++), 10);
+            if (ziffer < 0 || wert < multiplikationsGrenze)
+            {
+                return ergebnis.failure();
+            }
+            wert *= 10;
+            if (wert < grenze + ziffer)
+            {
+                return ergebnis.failure();
+            }
+            wert -= ziffer;
+        }
+        return ergebnis.success(negativ ? wert : -wert);
     }
 
     /**
-     * Dies zeigt, ob ein String zu Float konvertiert werden kann.
+     * Dies zeigt, ob ein String von {@link Double#parseDouble(String)} geparst werden kann. Dafür wird nur die Syntax
+     * geprüft, so dass keine Exception auftritt.
      *
      * @param zahl Der String
      * @return true, wenn möglich, sonst false.
      */
-    static public boolean toFloat(String zahl)
+    static private boolean isFloatingPoint(String zahl)
     {
 
-        try
+        if (zahl == null)
+        {
+            return false;
+        }
+        int start = 0;
+        int ende = zahl.length();
+        while (start < ende && zahl.charAt(start) <= ' ')
+        {
+            start++;
+        }
+        while (ende > start && zahl.charAt(ende - 1) <= ' ')
+        {
+            ende--;
+        }
+        int i = start;
+        if (i < ende && (zahl.charAt(i) == '+' || zahl.charAt(i) == '-'))
+        {
+            i++;
+        }
+        if (zahl.startsWith("NaN", i))
         {
-            Float.parseFloat(zahl);
-        } catch (NumberFormatException e)
+            return i + 3 == ende;
+        }
+        if (zahl.startsWith("Infinity", i))
+        {
+            return i + 8 == ende;
+        }
+        if (i + 1 < ende && zahl.charAt(i) == '0' && (zahl.charAt(i + 1) == 'x' || zahl.charAt(i + 1) == 'X'))
+        {
+            return isHexFloatingPoint(zahl, i + 2, ende);
+        }
+        int ziffern = 0;
+        while (i < ende && isDigit(zahl.charAt(i)))
+        {
+            i++;
+            ziffern++;
+        }
+        if (i < ende && zahl.charAt(i) == '.')
+        {
+            i++;
+            while (i < ende && isDigit(zahl.charAt(i)))
+            {
+                i++;
+                ziffern++;
+            }
+        }
+        if (ziffern == 0)
         {
             return false;
         }
-        return true;
+        if (i < ende && (zahl.charAt(i) == 'e' || zahl.charAt(i) == 'E'))
+        {
+            i = skipExponent(zahl, i + 1, ende);
+            if (i < 0)
+            {
+                return false;
+            }
+        }
+        return isEnd(zahl, i, ende);
     }
 
     /**
-     * Dies zeigt, ob ein String zu Double konvertiert werden kann.
+     * Dies prüft die Syntax einer hexadezimalen Kommazahl (z.B. 0x1.8p3) nach dem '0x'.
      *
      * @param zahl Der String
-     * @return true, wenn möglich, sonst false.
+     * @param i    Die Position nach dem '0x'.
+     * @param ende Das Ende der Zahl ohne Leerzeichen.
+     * @return true, wenn die Syntax stimmt, sonst false.
      */
-    static public boolean toDouble(String zahl)
+    static private boolean isHexFloatingPoint(String zahl, int i, int ende)
     {
 
-        try
+        int ziffern = 0;
+        while (i < ende && isHexDigit(zahl.charAt(i)))
+        {
+            i++;
+            ziffern++;
+        }
+        if (i < ende && zahl.charAt(i) == '.')
         {
-            Double.parseDouble(zahl);
-        } catch (NumberFormatException e)
+            i++;
+            while (i < ende && isHexDigit(zahl.charAt(i)))
+            {
+                i++;
+                ziffern++;
+            }
+        }
+        if (ziffern == 0 || i >= ende || (zahl.charAt(i) != 'p' && zahl.charAt(i) != 'P'))
         {
             return false;
         }
-        return true;
+        i = skipExponent(zahl, i + 1, ende);
+        return i >= 0 && isEnd(zahl, i, ende);
     }
 
+    /**
+     * Dies überspringt den Exponenten mit Vorzeichen.
+     *
+     * @param zahl Der String
+     * @param i    Die Position nach dem 'e' bzw. 'p'.
+     * @param ende Das Ende der Zahl ohne Leerzeichen.
+     * @return Die Position nach dem Exponenten oder -1, falls der Exponent keine Ziffern hat.
+     */
+    static private int skipExponent(String zahl, int i, int ende)
+    {
 
+        if (i < ende && (zahl.charAt(i) == '+' || zahl.charAt(i) == '-'))
+        {
+            i++;
+        }
+        int start = i;
+        while (i < ende && isDigit(zahl.charAt(i)))
+        {
+            i++;
+        }
+        return i == start ? -1 : i;
+    }
+
+    /**
+     * Dies zeigt, ob an der Position nur noch das optionale Suffix (f, F, d, D) steht.
+     *
+     * @param zahl Der String
+     * @param i    Die aktuelle Position.
+     * @param ende Das Ende der Zahl ohne Leerzeichen.
+     * @return true, falls die Zahl hier endet.
+     */
+    static private boolean isEnd(String zahl, int i, int ende)
+    {
+
+        if (i < ende && "fFdD".indexOf(zahl.charAt(i)) >= 0)
+        {
+            i++;
+        }
+        return i == ende;
+    }
+
+    static private boolean isDigit(char zeichen)
+    {
+
+        return zeichen >= '0' && zeichen <= '9';
+    }
+
+    static private boolean isHexDigit(char zeichen)
+    {
+
+        return isDigit(zeichen) || (zeichen >= 'a' && zeichen <= 'f') || (zeichen >= 'A' && zeichen <= 'F');
+    }
 }
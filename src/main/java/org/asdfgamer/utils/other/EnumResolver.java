@@ -0,0 +1,294 @@
+package org.asdfgamer.utils.other;
+
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * This resolves Strings like "java.lang.annotation.ElementType.FIELD" to Enums and their elements and caches the
+ * result, so that {@link Utils#isEnumElement(Object)} and {@link Utils#getEnumElement(String)} don't have to use
+ * Class.forName and search the elements every time.
+ * <p>
+ * The Classes are only weakly referenced and the elements of an Enum are saved in a {@link ClassValue}, so the cache
+ * doesn't prevent that classes get unloaded. The number of cached Strings is limited, because they can come from user
+ * data like configuration files.
+ *
+ * @author ASDFGamer
+ */
+final class EnumResolver
+{
+
+    /**
+     * This is the maximal number of Strings in {@link #ENUM_NAMES} and in {@link #NO_ENUM_NAMES}. The Strings come
+     * e.g. from configuration files, so a cache gets emptied when it is full instead of growing without a limit.
+     */
+    static final int MAX_CACHED_NAMES = 1024;
+
+    /**
+     * This are the already resolved Strings that name an Enum or an element of an Enum.
+     */
+    private static final ConcurrentMap<String, EnumName> ENUM_NAMES = new ConcurrentHashMap<>();
+
+    /**
+     * This are the already resolved Strings that don't name an Enum or an element of an Enum.
+     */
+    private static final Set<String> NO_ENUM_NAMES = ConcurrentHashMap.newKeySet();
+
+    /**
+     * This are the elements of every Enum by their name.
+     */
+    private static final ClassValue<EnumConstants> ENUM_CONSTANTS = new ClassValue<EnumConstants>()
+    {
+        @Override
+        protected EnumConstants computeValue(Class<?> type)
+        {
+            return new EnumConstants();
+        }
+    };
+
+    private EnumResolver()
+    {
+    }
+
+    /**
+     * This tests if the given String is the name of an Enum or of an element of an Enum.
+     *
+     * @param name         The String that should be checked.
+     * @param checkElement true, if the element has to exist in the Enum. If the Enum isn't fully initialised yet, the
+     *                     element can't be found.
+     * @return true, if the String is an Enum or an element of an Enum.
+     */
+    static boolean isEnum(String name, boolean checkElement)
+    {
+        EnumName enumName = getEnumName(name);
+        Class<?> enumClass = enumName.getEnumClass();
+        if (enumClass == null)
+        {
+            return false;
+        }
+        if (enumName.element == null || !checkElement)
+        {
+            return true;
+        }
+        return ENUM_CONSTANTS.get(enumClass).get(enumClass, enumName.element) != null;
+    }
+
+    /**
+     * This returns the element of the Enum that is named in the String.
+     *
+     * @param name The whole name of the element, e.g. java.lang.annotation.ElementType.ANNOTATION_TYPE
+     * @return The element or null, if the String doesn't name an element or the Enum isn't fully initialised.
+     */
+    static Enum<?> getEnumElement(String name)
+    {
+        EnumName enumName = getEnumName(name);
+        Class<?> enumClass = enumName.getEnumClass();
+        if (enumClass == null || enumName.element == null)
+        {
+            return null;
+        }
+        return ENUM_CONSTANTS.get(enumClass).get(enumClass, enumName.element);
+    }
+
+    /**
+     * This returns the resolved name from the cache and resolves it, if it isn't in the cache or its class got
+     * unloaded.
+     *
+     * @param name The String with the name.
+     * @return The resolved name.
+     */
+    private static EnumName getEnumName(String name)
+    {
+        if (!isQualifiedName(name))
+        {
+            return EnumName.NO_ENUM;
+        }
+        EnumName enumName = ENUM_NAMES.get(name);
+        if (enumName != null && !enumName.isUnloaded())
+        {
+            return enumName;
+        }
+        if (NO_ENUM_NAMES.contains(name))
+        {
+            return EnumName.NO_ENUM;
+        }
+        enumName = resolve(name);
+        if (enumName == EnumName.NO_ENUM)
+        {
+            if (NO_ENUM_NAMES.size() >= MAX_CACHED_NAMES)
+            {
+                NO_ENUM_NAMES.clear();
+            }
+            NO_ENUM_NAMES.add(name);
+        } else
+        {
+            if (ENUM_NAMES.size() >= MAX_CACHED_NAMES)
+            {
+                ENUM_NAMES.clear();
+            }
+            ENUM_NAMES.put(name, enumName);
+        }
+        return enumName;
+    }
+
+    /**
+     * This returns how many Strings are in the caches at the moment.
+     *
+     * @return The number of cached Strings.
+     */
+    static int getCachedNames()
+    {
+        return ENUM_NAMES.size() + NO_ENUM_NAMES.size();
+    }
+
+    /**
+     * This resolves the String with Class.forName. First the whole String is tried as Class and then the part before
+     * the last dot.
+     *
+     * @param name The String with the name.
+     * @return The resolved name.
+     */
+    private static EnumName resolve(String name)
+    {
+        Class<?> aClass = forName(name);
+        if (aClass != null)
+        {
+            return aClass.isEnum() ? new EnumName(aClass, null) : EnumName.NO_ENUM;
+        }
+        int dot = name.lastIndexOf('.');
+        if (dot > 0)
+        {
+            aClass = forName(name.substring(0, dot));
+            if (aClass != null && aClass.isEnum())
+            {
+                return new EnumName(aClass, name.substring(dot + 1));
+            }
+        }
+        return EnumName.NO_ENUM;
+    }
+
+    private static Class<?> forName(String name)
+    {
+        try
+        {
+            return Class.forName(name);
+        } catch (ClassNotFoundException | LinkageError e)
+        {
+            return null;
+        }
+    }
+
+    /**
+     * This checks if the String could be the name of a Class or of an element in an Enum. Only those Strings have to be
+     * resolved, so that e.g. numbers or texts don't fill the cache.
+     *
+     * @param name The String.
+     * @return true, if every part between the dots is a valid java identifier.
+     */
+    private static boolean isQualifiedName(String name)
+    {
+        if (name == null || name.isEmpty())
+        {
+            return false;
+        }
+        boolean partStart = true;
+        for (int i = 0; i < name.length(); i++)
+        {
+            char c = name.charAt(i);
+            if (c == '.')
+            {
+                if (partStart)
+                {
+                    return false;
+                }
+                partStart = true;
+            } else if (partStart ? Character.isJavaIdentifierStart(c) : Character.isJavaIdentifierPart(c))
+            {
+                partStart = false;
+            } else
+            {
+                return false;
+            }
+        }
+        return !partStart;
+    }
+
+    /**
+     * This is a resolved String. It is either an Enum, an element of an Enum or nothing of both.
+     */
+    private static final class EnumName
+    {
+
+        /**
+         * This is the result for all Strings that aren't an Enum or an element of an Enum.
+         */
+        private static final EnumName NO_ENUM = new EnumName(null, null);
+
+        private final WeakReference<Class<?>> enumClass;
+
+        /**
+         * This is the name of the element or null if the String is the Enum itself.
+         */
+        private final String element;
+
+        private EnumName(Class<?> enumClass, String element)
+        {
+            this.enumClass = enumClass == null ? null : new WeakReference<>(enumClass);
+            this.element = element;
+        }
+
+        private Class<?> getEnumClass()
+        {
+            return enumClass == null ? null : enumClass.get();
+        }
+
+        private boolean isUnloaded()
+        {
+            return enumClass != null && enumClass.get() == null;
+        }
+    }
+
+    /**
+     * This are the elements of one Enum. They are searched when they are needed the first time, because that isn't
+     * possible while the Enum gets initialised.
+     */
+    private static final class EnumConstants
+    {
+
+        private volatile Map<String, Enum<?>> constants = null;
+
+        /**
+         * This returns the element with the given name. The name can be the name of the element or its toString value.
+         *
+         * @param enumClass The Enum, this has to be the class this object belongs to.
+         * @param element   The name of the element.
+         * @return The element or null, if it doesn't exist or the Enum isn't fully initialised.
+         */
+        private Enum<?> get(Class<?> enumClass, String element)
+        {
+            Map<String, Enum<?>> map = constants;
+            if (map == null)
+            {
+                Object[] elements = enumClass.getEnumConstants();
+                if (elements == null)
+                {
+                    return null;
+                }
+                map = new HashMap<>();
+                for (Object enumElement : elements)
+                {
+                    map.put(((Enum<?>) enumElement).name(), (Enum<?>) enumElement);
+                }
+                for (Object enumElement : elements)
+                {
+                    map.putIfAbsent(enumElement.toString(), (Enum<?>) enumElement);
+                }
+                constants = map;
+            }
+            return map.get(element);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package org.asdfgamer.utils.other;
+
+/**
+ * Hierin speichern die tryParse-Methoden aus {@link Convertible} ihr Ergebnis. Ein Objekt kann für beliebig viele
+ * Aufrufe wiederverwendet werden, so dass beim Parsen nichts alloziert werden muss.
+ *
+ * @author ASDFGamer
+ */
+@SuppressWarnings("unused")
+public class ParseResult
+{
+
+    /**
+     * Dies zeigt, ob der letzte Aufruf erfolgreich war.
+     */
+    private boolean success = false;
+
+    /**
+     * Dies ist der ganzzahlige Wert, falls eine Ganzzahl geparst wurde.
+     */
+    private long longValue = 0;
+
+    /**
+     * Dies ist der Wert als Kommazahl.
+     */
+    private double doubleValue = 0;
+
+    /**
+     * Dies zeigt, ob der letzte Aufruf erfolgreich war.
+     *
+     * @return true, falls der String umgewandelt werden konnte, sonst false.
+     */
+    public boolean isSuccess()
+    {
+
+        return success;
+    }
+
+    /**
+     * Dies gibt den Wert als int zurück. Dies ist nur sinnvoll nach einem erfolgreichen
+     * {@link Convertible#tryParseInt(String, ParseResult)}.
+     *
+     * @return Der Wert.
+     */
+    public int getInt()
+    {
+
+        return (int) longValue;
+    }
+
+    /**
+     * Dies gibt den Wert als long zurück. Dies ist nur sinnvoll nach einem erfolgreichen
+     * {@link Convertible#tryParseInt(String, ParseResult)} oder {@link Convertible#tryParseLong(String, ParseResult)}.
+     *
+     * @return Der Wert.
+     */
+    public long getLong()
+    {
+
+        return longValue;
+    }
+
+    /**
+     * Dies gibt den Wert als double zurück. Nach dem Parsen einer Ganzzahl ist dies die Ganzzahl als double.
+     *
+     * @return Der Wert.
+     */
+    public double getDouble()
+    {
+
+        return doubleValue;
+    }
+
+    /**
+     * Dies speichert eine erfolgreich geparste Ganzzahl.
+     *
+     * @param value Die Zahl.
+     * @return true
+     */
+    boolean success(long value)
+    {
+
+        this.success = true;
+        this.longValue = value;
+        this.doubleValue = value;
+        return true;
+    }
+
+    /**
+     * Dies speichert eine erfolgreich geparste Kommazahl.
+     *
+     * @param value Die Zahl.
+     * @return true
+     */
+    boolean success(double value)
+    {
+
+        this.success = true;
+        this.longValue = (long) value;
+        this.doubleValue = value;
+        return true;
+    }
+
+    /**
+     * Dies speichert, dass der String nicht umgewandelt werden konnte.
+     *
+     * @return false
+     */
+    boolean failure()
+    {
+
+        this.success = false;
+        this.longValue = 0;
+        this.doubleValue = 0;
+        return false;
+    }
+}
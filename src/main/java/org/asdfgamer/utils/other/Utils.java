@@ -562,35 +562,7 @@ public class Utils {
      */
     private static boolean isEnum(Object enumObject, boolean checkElement) {
         if (enumObject instanceof String) {
-            try {
-                return Class.forName((String) enumObject).isEnum();
-            } catch (ClassNotFoundException e) {
-                if (((String) enumObject).contains(".")) {
-                    try {
-                        String shortName = ((String) enumObject).substring(0, ((String) enumObject).lastIndexOf("."));
-                        if (Class.forName(shortName).isEnum()) {
-                            if (!checkElement) {
-                                return true;
-                            }
-                            Class aClass = Class.forName(shortName);
-                            //Field[] fields = aClass.getFields();
-                            //Enum enumElement = Enum.valueOf(aClass,fields[0].getName());
-                            //Object constantsObj = Class.forName(shortName).getMethod("values").invoke(null);//TODO i think here is an problem during initialisation maybe check if stacktrace contains something. It could be that getEnumConstants works then.
-                            Object[] constants = aClass.getEnumConstants();//((Object[]) constantsObj);
-                            String element = ((String) enumObject).substring(((String) enumObject).lastIndexOf(".") + 1);
-                            for (Object constant : constants) {
-                                if (constant.toString().equals(element)) {
-                                    return true;
-                                }
-                            }
-                        }
-                        return false;
-                    } catch (ClassNotFoundException ex) {
-                        return false;
-                    }
-                }
-                return false;
-            }
+            return EnumResolver.isEnum((String) enumObject, checkElement);
         } else if (enumObject instanceof Class) {
             return ((Class) enumObject).isEnum();
         } else {
@@ -608,25 +580,11 @@ public class Utils {
      * @return Entweder das Enumelement oder null, falls es nicht gefunden werden konnte.
      */
     public static Enum getEnumElement(String enumElement) {
-        String classname = enumElement.substring(0, enumElement.lastIndexOf("."));
-        String elementName = enumElement.substring(enumElement.lastIndexOf(".") + 1);
-        try {
-            Class classelement = Class.forName(classname);
-            if (classelement.isEnum()) {
-                @SuppressWarnings("unchecked") Class<Enum> enumclass = (Class<Enum>) classelement;
-                Enum[] enumConstants = enumclass.getEnumConstants();
-                for (Enum enumConstant : enumConstants) {
-                    if (classelement.isInstance(enumConstant) && enumConstant.name().equals(elementName)) {
-                        return enumConstant;
-                    }
-                }
-            }
-        } catch (ClassNotFoundException e) {
-            LOG.warning("Die im String angegebene Klasse " + classname + " existiert nicht.");
-            return null;
+        Enum<?> element = EnumResolver.getEnumElement(enumElement);
+        if (element == null) {
+            LOG.warning("Das Element " + enumElement + " wurde nicht gefunden.");
         }
-        LOG.warning("das element " + elementName + " wurde nicht in " + classname + " gefunden.");
-        return null;
+        return element;
     }
 
     public static Enum[] getAllEnumElements(Enum setting) {
@@ -0,0 +1,134 @@
+package org.asdfgamer.utils.config;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@SuppressWarnings("WeakerAccess")
+public class AsyncSettingChangeListenerTest
+{
+    public static final Setting orderedSetting = Settings.newSetting(0);
+
+    public static final Setting coalescedSetting = Settings.newSetting(0);
+
+    public static final Setting otherSetting = Settings.newSetting(0);
+
+    public static final Setting failingSetting = Settings.newSetting(0);
+
+    public static final Setting reorderedSetting = Settings.newSetting(0);
+
+    @Test
+    public void deliverInOrder()
+    {
+        List<Runnable> tasks = new ArrayList<>();
+        List<String> changes = new ArrayList<>();
+        AsyncSettingChangeListener listener = new AsyncSettingChangeListener((setting, index, oldValue, newValue) -> changes.add(oldValue + "->" + newValue), tasks::add, false);
+        orderedSetting.setInteger(0);
+        orderedSetting.addListener(listener);
+        try
+        {
+            for (int i = 1; i <= 3; i++)
+            {
+                orderedSetting.setInteger(i);
+            }
+            assertTrue(changes.isEmpty());
+            assertEquals(1, tasks.size());
+            tasks.remove(0).run();
+            assertEquals(List.of("0->1", "1->2", "2->3"), changes);
+            assertEquals(0, listener.getCoalescedChanges());
+
+            orderedSetting.setInteger(4);
+            assertEquals(1, tasks.size());
+            tasks.remove(0).run();
+            assertEquals("3->4", changes.get(3));
+        } finally
+        {
+            orderedSetting.removeListener(listener);
+        }
+    }
+
+    @Test
+    public void coalesceChanges()
+    {
+        List<Runnable> tasks = new ArrayList<>();
+        List<String> changes = new ArrayList<>();
+        AsyncSettingChangeListener listener = new AsyncSettingChangeListener((setting, index, oldValue, newValue) -> changes.add((setting == coalescedSetting ? "coalesced" : "other") + ":" + oldValue + "->" + newValue), tasks::add, true);
+        coalescedSetting.setInteger(0);
+        otherSetting.setInteger(0);
+        coalescedSetting.addListener(listener);
+        otherSetting.addListener(listener);
+        try
+        {
+            for (int i = 1; i <= 100; i++)
+            {
+                coalescedSetting.setInteger(i);
+            }
+            otherSetting.setInteger(1);
+            otherSetting.setInteger(0);//changed back, so the listener doesn't need to know about it
+            assertEquals(1, tasks.size());
+            tasks.remove(0).run();
+            assertEquals(List.of("coalesced:0->100"), changes);
+            assertEquals(100, listener.getCoalescedChanges());
+        } finally
+        {
+            coalescedSetting.removeListener(listener);
+            otherSetting.removeListener(listener);
+        }
+    }
+
+    @Test
+    public void coalesceReorderedChanges()
+    {
+        List<Runnable> tasks = new ArrayList<>();
+        List<String> changes = new ArrayList<>();
+        AsyncSettingChangeListener listener = new AsyncSettingChangeListener((setting, index, oldValue, newValue) -> changes.add(oldValue + "->" + newValue), tasks::add, true);
+        reorderedSetting.setInteger(2);
+        //Two threads changed the value from 0 to 1 and from 1 to 2 and informed the listener in the wrong order.
+        listener.changed(reorderedSetting, 0, "1", "2");
+        listener.changed(reorderedSetting, 0, "0", "1");
+        assertEquals(1, tasks.size());
+        tasks.remove(0).run();
+        assertEquals(List.of("1->2"), changes);
+    }
+
+    @Test
+    public void deliverAfterError()
+    {
+        List<Runnable> tasks = new ArrayList<>();
+        List<String> changes = new ArrayList<>();
+        AsyncSettingChangeListener listener = new AsyncSettingChangeListener((setting, index, oldValue, newValue) ->
+        {
+            if ("1".equals(newValue))
+            {
+                throw new StackOverflowError();
+            }
+            changes.add(oldValue + "->" + newValue);
+        }, tasks::add, false);
+        failingSetting.setInteger(0);
+        failingSetting.addListener(listener);
+        try
+        {
+            failingSetting.setInteger(1);
+            try
+            {
+                tasks.remove(0).run();
+                fail();
+            } catch (StackOverflowError e)
+            {
+                //expected
+            }
+            failingSetting.setInteger(2);
+            assertEquals(1, tasks.size());
+            tasks.remove(0).run();
+            assertEquals(List.of("1->2"), changes);
+        } finally
+        {
+            failingSetting.removeListener(listener);
+        }
+    }
+}
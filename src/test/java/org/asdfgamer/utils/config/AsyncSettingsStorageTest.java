@@ -0,0 +1,68 @@
+package org.asdfgamer.utils.config;
+
+import org.asdfgamer.utils.config.internal.SettingUtils;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@SuppressWarnings("WeakerAccess")
+public class AsyncSettingsStorageTest
+{
+    public static final Setting asyncSetting = Settings.newSetting("async");
+
+    @Test
+    public void coalesceSaves()
+    {
+        PropertiesFileStorage fileStorage = new PropertiesFileStorage("testAsync", true, true);
+        List<Setting> settings = SettingUtils.getSettingsFromObject(this);
+        try (AsyncSettingsStorage storage = new AsyncSettingsStorage(fileStorage, 1, TimeUnit.MINUTES))
+        {
+            List<CompletableFuture<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 10; i++)
+            {
+                asyncSetting.set("async " + i);
+                results.add(storage.saveAsync(settings));
+            }
+            assertEquals(9, storage.getCoalescedSaves());
+            assertTrue(storage.flush().join());
+            for (CompletableFuture<Boolean> result : results)
+            {
+                assertTrue(result.join());
+            }
+            asyncSetting.set("not saved");
+            assertTrue(storage.load(settings));
+            assertEquals("async 9", asyncSetting.get());
+        }
+    }
+
+    @Test
+    public void completeOnError()
+    {
+        SettingsStorage failing = new SettingsStorage()
+        {
+            @Override
+            public boolean load(List<Setting> settings)
+            {
+                return false;
+            }
+
+            @Override
+            public boolean save(List<Setting> settings)
+            {
+                throw new StackOverflowError();
+            }
+        };
+        try (AsyncSettingsStorage storage = new AsyncSettingsStorage(failing, 1, TimeUnit.MINUTES))
+        {
+            CompletableFuture<Boolean> result = storage.saveAsync(SettingUtils.getSettingsFromObject(this));
+            assertTrue(storage.flush().handle((successful, e) -> e != null).join());
+            assertTrue(result.isCompletedExceptionally());
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.asdfgamer.utils.config;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AtomicFileWriterTest
+{
+    @Test
+    public void writeSameFileConcurrently() throws Exception
+    {
+        Path file = Files.createTempFile("AtomicFileWriter", ".cfg");
+        try
+        {
+            List<Thread> threads = new ArrayList<>();
+            List<Throwable> problems = Collections.synchronizedList(new ArrayList<>());
+            for (int i = 0; i < 4; i++)
+            {
+                String content = "writer=" + i;
+                threads.add(new Thread(() ->
+                {
+                    try
+                    {
+                        for (int j = 0; j < 200; j++)
+                        {
+                            new AtomicFileWriter(FsyncPolicy.NEVER).write(file.toString(), content);
+                        }
+                    } catch (Throwable e)
+                    {
+                        problems.add(e);
+                    }
+                }));
+            }
+            for (Thread thread : threads)
+            {
+                thread.start();
+            }
+            for (Thread thread : threads)
+            {
+                thread.join();
+            }
+            assertEquals(Collections.emptyList(), problems);
+            assertTrue(new String(Files.readAllBytes(file), StandardCharsets.UTF_8).matches("writer=[0-3]"));
+        } finally
+        {
+            Files.delete(file);
+        }
+    }
+}
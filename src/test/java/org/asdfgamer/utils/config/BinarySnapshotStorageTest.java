@@ -0,0 +1,150 @@
+package org.asdfgamer.utils.config;
+
+import org.asdfgamer.utils.config.internal.SettingUtils;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.lang.annotation.ElementType;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@SuppressWarnings("WeakerAccess")
+public class BinarySnapshotStorageTest
+{
+    public static final Setting stringSetting = Settings.newSetting("snapshot");
+
+    public static final Setting intSetting = Settings.newSetting(1);
+
+    public static final Setting doubleSetting = Settings.newSetting(1.5);
+
+    public static final Setting booleanSetting = Settings.newSetting(true);
+
+    public static final Setting enumSetting = Settings.newSetting(ElementType.FIELD);
+
+    public static final Setting listSetting = Settings.newSetting(new Object[]{1, 2, 3});
+
+    @Test
+    public void loadSavedValues() throws IOException
+    {
+        BinarySnapshotStorage storage = new BinarySnapshotStorage("testSnapshot");
+        Files.deleteIfExists(storage.getPath());
+        List<Setting> settings = SettingUtils.getSettingsFromObject(this);
+        stringSetting.set("\"quoted\" é");
+        intSetting.setInteger(42);
+        doubleSetting.setDouble(-0.25);
+        booleanSetting.setBoolean(false);
+        enumSetting.set(ElementType.METHOD);
+        listSetting.setInteger(20, 1);
+        assertTrue(storage.save(settings));
+
+        stringSetting.set("changed");
+        intSetting.setInteger(0);
+        doubleSetting.setDouble(0);
+        booleanSetting.setBoolean(true);
+        enumSetting.set(ElementType.TYPE);
+        listSetting.setInteger(0, 1);
+        assertTrue(new BinarySnapshotStorage("testSnapshot").load(settings));
+        assertEquals("\"quoted\" é", stringSetting.get());
+        assertEquals(42, (int) intSetting.getInt());
+        assertEquals(-0.25, doubleSetting.getDouble(), 0);
+        assertFalse(booleanSetting.getBoolean());
+        assertEquals(ElementType.METHOD, enumSetting.getEnum());
+        assertEquals(20, (int) listSetting.getInt(1));
+    }
+
+    @Test
+    public void migrateFromPropertiesFiles() throws IOException
+    {
+        PropertiesFileStorage properties = new PropertiesFileStorage("testSnapshotMigration", true, true);
+        BinarySnapshotStorage storage = new BinarySnapshotStorage("testSnapshotMigration", properties);
+        Files.deleteIfExists(storage.getPath());
+        List<Setting> settings = SettingUtils.getSettingsFromObject(this);
+        intSetting.setInteger(7);
+        assertTrue(properties.save(settings));
+        intSetting.setInteger(8);
+
+        assertTrue(storage.load(settings));
+        assertEquals(7, (int) intSetting.getInt());
+        assertTrue(Files.isRegularFile(storage.getPath()));
+
+        intSetting.setInteger(9);
+        assertTrue(new BinarySnapshotStorage("testSnapshotMigration").load(settings));
+        assertEquals(7, (int) intSetting.getInt());
+    }
+
+    @Test
+    public void dontMigrateFailedLoad() throws IOException
+    {
+        SettingsStorage failing = new SettingsStorage()
+        {
+            @Override
+            public boolean load(List<Setting> settings)
+            {
+                return false;
+            }
+
+            @Override
+            public boolean save(List<Setting> settings)
+            {
+                return false;
+            }
+        };
+        BinarySnapshotStorage storage = new BinarySnapshotStorage("testSnapshotFailedMigration", failing);
+        Files.deleteIfExists(storage.getPath());
+
+        assertFalse(storage.load(SettingUtils.getSettingsFromObject(this)));
+        assertFalse(Files.exists(storage.getPath()));
+    }
+
+    @Test
+    public void saveDifferentClassesConcurrently() throws Exception
+    {
+        BinarySnapshotStorage storage = new BinarySnapshotStorage("testSnapshotConcurrent", null, FsyncPolicy.NEVER);
+        Files.deleteIfExists(storage.getPath());
+        List<Setting> settings = SettingUtils.getSettingsFromObject(this);
+        List<Setting> other = SettingUtils.getSettingsFromObject(OtherSettings.class);
+        Thread thread = new Thread(() ->
+        {
+            for (int i = 1; i <= 100; i++)
+            {
+                OtherSettings.otherSetting.setInteger(i);
+                storage.save(other);
+            }
+        });
+        thread.start();
+        for (int i = 1; i <= 100; i++)
+        {
+            intSetting.setInteger(i);
+            assertTrue(storage.save(settings));
+        }
+        thread.join();
+        intSetting.setInteger(0);
+        OtherSettings.otherSetting.setInteger(0);
+
+        BinarySnapshotStorage loading = new BinarySnapshotStorage("testSnapshotConcurrent");
+        assertTrue(loading.load(settings));
+        assertTrue(loading.load(other));
+        assertEquals(100, (int) intSetting.getInt());
+        assertEquals(100, (int) OtherSettings.otherSetting.getInt());
+    }
+
+    @Test
+    public void ignoreInvalidSnapshot() throws IOException
+    {
+        BinarySnapshotStorage storage = new BinarySnapshotStorage("testSnapshotInvalid");
+        Files.createDirectories(storage.getPath().getParent());
+        Files.write(storage.getPath(), new byte[]{1, 2, 3, 4, 5});
+        intSetting.setInteger(11);
+        assertFalse(storage.load(SettingUtils.getSettingsFromObject(this)));
+        assertEquals(11, (int) intSetting.getInt());
+    }
+
+    public static class OtherSettings
+    {
+        public static final Setting otherSetting = Settings.newSetting(5);
+    }
+}
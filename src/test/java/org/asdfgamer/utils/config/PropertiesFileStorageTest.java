@@ -1,8 +1,27 @@
 package org.asdfgamer.utils.config;
 
+import org.asdfgamer.utils.config.internal.SettingUtils;
+import org.asdfgamer.utils.other.Utils;
 import org.junit.Test;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.ElementType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 @SuppressWarnings("WeakerAccess")
@@ -12,6 +31,10 @@ public class PropertiesFileStorageTest
 
     public static final Setting setting2 = Settings.newSetting("it works really");
 
+    public static final Setting enumSetting = Settings.newSetting(ElementType.FIELD);
+
+    public static final Setting loadedSetting = Settings.newSetting(10);
+
     @Test
     public void loadSettings()
     {
@@ -54,4 +77,227 @@ public class PropertiesFileStorageTest
         assertEquals("Hey Ho", setting2.get());
         assertEquals("Now this", TestEnum.testString.SETTINGProperty().get());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void loadEnumSetting()
+    {
+        enumSetting.set(ElementType.FIELD);
+        Settings settings = new Settings("testEnumValue");
+        assertTrue(settings.save(this));
+        enumSetting.set(ElementType.METHOD);
+        assertEquals(ElementType.METHOD, enumSetting.getEnum());
+        assertTrue(settings.load(this));
+        assertEquals(ElementType.FIELD, enumSetting.getEnum());
+    }
+
+    @Test
+    public void skipUnchangedClasses()
+    {
+        PropertiesFileStorage storage = new PropertiesFileStorage("testSkip");
+        List<Setting> settings = SettingUtils.getSettingsFromObject(this);
+        assertTrue(storage.save(settings));
+        assertEquals(0, storage.getSkippedFiles());
+        assertTrue(storage.save(settings));
+        assertEquals(1, storage.getSkippedFiles());
+        setting1.set(setting1.get() + " changed");
+        assertTrue(storage.save(settings));
+        assertEquals(1, storage.getSkippedFiles());
+        assertTrue(storage.load(settings));
+        assertTrue(storage.save(settings));
+        assertEquals(2, storage.getSkippedFiles());
+    }
+
+    @Test
+    public void saveWithEveryFsyncPolicy() throws IOException
+    {
+        for (FsyncPolicy policy : FsyncPolicy.values())
+        {
+            PropertiesFileStorage storage = new PropertiesFileStorage("testFsync", true, true, policy);
+            List<Setting> settings = SettingUtils.getSettingsFromObject(this);
+            setting1.set("saved with " + policy);
+            assertTrue(storage.save(settings));
+            setting1.set("not saved");
+            assertTrue(storage.load(settings));
+            assertEquals("saved with " + policy, setting1.get());
+            try (DirectoryStream<Path> tempFiles = Files.newDirectoryStream(Paths.get(Utils.getConfigFolder("testFsync")), "*.tmp"))
+            {
+                assertFalse(tempFiles.iterator().hasNext());
+            }
+        }
+    }
+
+    @Test
+    public void resolvePathsOnlyOnce() throws IOException
+    {
+        PropertiesFileStorage storage = new PropertiesFileStorage("testPaths");
+        List<Setting> settings = SettingUtils.getSettingsFromObject(this);
+        for (int i = 0; i < 3; i++)
+        {
+            setting1.set("saved " + i);
+            assertTrue(storage.save(settings));
+        }
+        assertTrue(storage.load(settings));
+        assertEquals(1, storage.getResolvedPaths());
+
+        Path folder = Paths.get(Utils.getConfigFolder("testPaths"));
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(folder))
+        {
+            for (Path file : files)
+            {
+                Files.delete(file);
+            }
+        }
+        Files.delete(folder);
+        setting1.set("saved after the folder was deleted");
+        assertTrue(storage.save(settings));
+        assertEquals(2, storage.getResolvedPaths());
+        assertTrue(Files.isRegularFile(folder.resolve("PropertiesFileStorageTest" + SettingsConfig.fileEnding.getSETTING())));
+    }
+
+    @Test
+    public void countChangedKeys()
+    {
+        PropertiesFileStorage storage = new PropertiesFileStorage("testChangedKeys", true, true);
+        List<Setting> settings = SettingUtils.getSettingsFromObject(this);
+        setting1.set("saved");
+        assertTrue(storage.save(settings));
+        assertTrue(storage.load(settings));
+        assertEquals(0, storage.getChangedKeys());
+
+        setting1.set("not saved");
+        AtomicInteger events = new AtomicInteger();
+        SettingChangeListener listener = (setting, index, oldValue, newValue) -> events.incrementAndGet();
+        setting2.addListener(listener);
+        try
+        {
+            assertTrue(storage.load(settings));
+        } finally
+        {
+            setting2.removeListener(listener);
+        }
+        assertEquals(1, storage.getChangedKeys());
+        assertEquals("saved", setting1.get());
+        assertEquals(0, events.get());
+    }
+
+    @Test
+    public void reloadWithoutChangeTracking()
+    {
+        PropertiesFileStorage storage = new PropertiesFileStorage("testReloadCycles", true, true, FsyncPolicy.NEVER);
+        List<Setting> settings = SettingUtils.getSettingsFromObject(this);
+        assertTrue(storage.save(settings));
+        int listeners = loadedSetting.getListenerCount();
+        for (int i = 0; i < 10000; i++)
+        {
+            Setting.setLoading(true);//like a load from another storage
+            try
+            {
+                loadedSetting.setRaw(Integer.toString(i), 0);
+            } finally
+            {
+                Setting.setLoading(false);
+            }
+            assertTrue(storage.load(settings));
+            assertEquals(10, (int) loadedSetting.getInt());
+        }
+        assertEquals(listeners, loadedSetting.getListenerCount());
+        assertFalse(loadedSetting.getSettingChanged());
+    }
+
+    @Test
+    public void loadMissingSettingWithoutDefault()
+    {
+        AtomicInteger changedKeys = new AtomicInteger();
+
+        assertFalse(PropertiesFileStorage.loadSettingProperties(Arrays.asList(WithoutDefault.setting, loadedSetting), new String[]{null, "12"}, changedKeys));
+        assertEquals(12, (int) loadedSetting.getInt());
+        assertEquals(1, changedKeys.get());
+    }
+
+    @Test
+    public void loadMalformedFile() throws IOException
+    {
+        PropertiesFileStorage storage = new PropertiesFileStorage("testMalformed", true, true);
+        List<Setting> settings = SettingUtils.getSettingsFromObject(this);
+        assertTrue(storage.save(settings));
+        Path file = Paths.get(Utils.getConfigFolder("testMalformed"), "PropertiesFileStorageTest" + SettingsConfig.fileEnding.getSETTING());
+        Files.write(file, "setting1=\\u12".getBytes(StandardCharsets.UTF_8));
+
+        assertFalse(storage.load(settings));
+        assertTrue(SettingClassInfo.getProblemsWithLoading(PropertiesFileStorageTest.class.getName()));
+    }
+
+    @Test
+    public void loadAllSettingsParallel()
+    {
+        setting1.set("parallel 1");
+        setting2.set("parallel 2");
+        Settings settings = new Settings("testParallel");
+        assertTrue(settings.save());
+        setting1.set("Sad");
+        setting2.set("it doesn't work");
+        List<Thread> listenerThreads = new ArrayList<>();
+        SettingChangeListener listener = (setting, index, oldValue, newValue) -> listenerThreads.add(Thread.currentThread());
+        setting1.addListener(listener);
+        try
+        {
+            assertTrue(settings.load(4));
+        } finally
+        {
+            setting1.removeListener(listener);
+        }
+        assertEquals("parallel 1", setting1.get());
+        assertEquals("parallel 2", setting2.get());
+        assertEquals(Collections.singletonList(Thread.currentThread()), listenerThreads);
+    }
+
+    @Test
+    public void loadAllSettingsParallelWithInvalidValue() throws IOException
+    {
+        TestEnum.testString.SETTINGProperty().set("parallel");
+        Settings settings = new Settings("testParallelInvalid");
+        assertTrue(settings.save());
+        Path file = Paths.get(Utils.getConfigFolder("testParallelInvalid"), "PropertiesFileStorageTest" + SettingsConfig.fileEnding.getSETTING());
+        String text = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        Files.write(file, text.replaceAll("loadedSetting\\s*=.*", "loadedSetting=notanint").getBytes(StandardCharsets.UTF_8));
+        TestEnum.testString.SETTINGProperty().set("doesn't work");
+
+        assertFalse(settings.load(4));
+        assertTrue(SettingClassInfo.getProblemsWithLoading(PropertiesFileStorageTest.class.getName()));
+        assertEquals("parallel", TestEnum.testString.SETTINGProperty().get());
+    }
+
+    @Test
+    public void readLikeJavaUtilProperties() throws IOException
+    {
+        StringBuilder text = new StringBuilder("# comment \\\nsetting1 = first \\\n    line\\tend \\u00e9\r\n");
+        while (text.length() < PropertiesFileReader.MAP_THRESHOLD)
+        {
+            text.append("! other comment\nunknown").append(text.length()).append("=value\n\n");
+        }
+        text.append("  setting2:\"quoted \\\"text\\\"\"\r\n");
+        Path file = Files.createTempFile("PropertiesFileReader", ".cfg");
+        try
+        {
+            Files.write(file, text.toString().getBytes(StandardCharsets.UTF_8));
+            Properties expected = new Properties();
+            try (InputStream in = Files.newInputStream(file))
+            {
+                expected.load(in);
+            }
+            String[] values = PropertiesFileReader.read(file.toString(), Arrays.asList(setting1, setting2, enumSetting));
+            assertEquals(expected.getProperty("setting1"), values[0]);
+            assertEquals("first line\tend \u00e9", values[0]);
+            assertEquals(expected.getProperty("setting2"), values[1]);
+            assertNull(values[2]);
+        } finally
+        {
+            Files.delete(file);
+        }
+    }
+
+    public static class WithoutDefault
+    {
+        public static final Setting setting = Settings.newSetting();
+    }
+}
@@ -0,0 +1,93 @@
+package org.asdfgamer.utils.config;
+
+import org.asdfgamer.utils.config.internal.SettingUtils;
+import org.asdfgamer.utils.other.Utils;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@SuppressWarnings("WeakerAccess")
+public class PropertiesFileWatcherTest
+{
+    public static final Setting changedSetting = Settings.newSetting(1);
+
+    public static final Setting unchangedSetting = Settings.newSetting("unchanged");
+
+    @Test
+    public void reloadChangedFile() throws IOException, InterruptedException
+    {
+        PropertiesFileStorage storage = new PropertiesFileStorage("testWatch");
+        List<Setting> settings = SettingUtils.getSettingsFromObject(this);
+        changedSetting.setInteger(1);
+        assertTrue(storage.save(settings));
+        Path file = Paths.get(Utils.getConfigFolder("testWatch"), "PropertiesFileWatcherTest" + SettingsConfig.fileEnding.getSETTING());
+        String text = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+
+        CountDownLatch changed = new CountDownLatch(1);
+        AtomicInteger unchangedEvents = new AtomicInteger();
+        SettingChangeListener changedListener = (setting, index, oldValue, newValue) -> changed.countDown();
+        SettingChangeListener unchangedListener = (setting, index, oldValue, newValue) -> unchangedEvents.incrementAndGet();
+        changedSetting.addListener(changedListener);
+        unchangedSetting.addListener(unchangedListener);
+        PropertiesFileWatcher watcher = storage.watch(settings, 50, TimeUnit.MILLISECONDS);
+        try
+        {
+            Files.write(file, text.replace("changedSetting=1", "changedSetting=2").getBytes(StandardCharsets.UTF_8));
+            assertTrue(changed.await(30, TimeUnit.SECONDS));
+            assertEquals(2, (int) changedSetting.getInt());
+        } finally
+        {
+            watcher.close();//waits until the file is loaded completely
+            changedSetting.removeListener(changedListener);
+            unchangedSetting.removeListener(unchangedListener);
+        }
+        assertEquals(0, unchangedEvents.get());
+        assertTrue(watcher.getReloads() >= 1);
+    }
+
+    @Test
+    public void reloadKeepsMissingSettings()
+    {
+        changedSetting.setInteger(1);
+        unchangedSetting.set("edited");
+        int changes = SettingClassInfo.getChanges(PropertiesFileWatcherTest.class.getName());
+        AtomicInteger changedKeys = new AtomicInteger();
+
+        PropertiesFileStorage.reloadSettingProperties(Arrays.asList(changedSetting, unchangedSetting), new String[]{"3", null}, changedKeys);
+
+        assertEquals(3, (int) changedSetting.getInt());
+        assertEquals("edited", unchangedSetting.get());
+        assertEquals(1, changedKeys.get());
+        assertEquals(changes, SettingClassInfo.getChanges(PropertiesFileWatcherTest.class.getName()));
+        assertFalse(SettingClassInfo.getProblemsWithLoading(PropertiesFileWatcherTest.class.getName()));
+    }
+
+    @Test
+    public void ownWritesAreRecognised() throws IOException
+    {
+        Path file = Files.createTempFile("PropertiesFileWatcherTest", ".tmp");
+        try
+        {
+            new AtomicFileWriter(FsyncPolicy.NEVER).write(file.toString(), "a=1");
+            assertTrue(AtomicFileWriter.isLastWrite(file, PropertiesFileReader.readFile(file)));
+            Files.write(file, "a=2".getBytes(StandardCharsets.UTF_8));
+            assertFalse(AtomicFileWriter.isLastWrite(file, PropertiesFileReader.readFile(file)));
+        } finally
+        {
+            Files.deleteIfExists(file);
+        }
+    }
+}
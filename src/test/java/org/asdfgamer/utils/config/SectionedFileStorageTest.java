@@ -0,0 +1,137 @@
+package org.asdfgamer.utils.config;
+
+import org.asdfgamer.utils.config.internal.SettingUtils;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@SuppressWarnings("WeakerAccess")
+public class SectionedFileStorageTest
+{
+    public static final Setting stringSetting = Settings.newSetting("sectioned");
+
+    public static final Setting intSetting = Settings.newSetting(1);
+
+    @Test
+    public void loadSavedValues() throws IOException
+    {
+        SectionedFileStorage storage = new SectionedFileStorage("testSectioned");
+        Files.deleteIfExists(storage.getPath());
+        List<Setting> settings = new ArrayList<>(SettingUtils.getSettingsFromObject(this));
+        settings.addAll(SettingUtils.getSettingsFromObject(OtherSettings.class));
+        stringSetting.set("[not a section]");
+        intSetting.setInteger(42);
+        OtherSettings.otherSetting.setInteger(43);
+        assertTrue(storage.save(settings));
+
+        String file = new String(Files.readAllBytes(storage.getPath()), StandardCharsets.UTF_8);
+        assertTrue(file.contains("[" + SectionedFileStorageTest.class.getName() + "]\n"));
+        assertTrue(file.contains("[" + OtherSettings.class.getName() + "]\n"));
+
+        stringSetting.set("changed");
+        intSetting.setInteger(0);
+        OtherSettings.otherSetting.setInteger(0);
+        assertTrue(new SectionedFileStorage("testSectioned").load(settings));
+        assertEquals("[not a section]", stringSetting.get());
+        assertEquals(42, (int) intSetting.getInt());
+        assertEquals(43, (int) OtherSettings.otherSetting.getInt());
+    }
+
+    @Test
+    public void saveKeepsOtherSections() throws IOException
+    {
+        SectionedFileStorage storage = new SectionedFileStorage("testSectionedOther");
+        Files.deleteIfExists(storage.getPath());
+        List<Setting> other = SettingUtils.getSettingsFromObject(OtherSettings.class);
+        OtherSettings.otherSetting.setInteger(7);
+        assertTrue(storage.save(other));
+
+        intSetting.setInteger(8);
+        assertTrue(new SectionedFileStorage("testSectionedOther").save(SettingUtils.getSettingsFromObject(this)));
+        OtherSettings.otherSetting.setInteger(0);
+        intSetting.setInteger(0);
+
+        SectionedFileStorage loading = new SectionedFileStorage("testSectionedOther");
+        assertTrue(loading.load(other));
+        assertTrue(loading.load(SettingUtils.getSettingsFromObject(this)));
+        assertEquals(7, (int) OtherSettings.otherSetting.getInt());
+        assertEquals(8, (int) intSetting.getInt());
+    }
+
+    @Test
+    public void missingSection() throws IOException
+    {
+        SectionedFileStorage storage = new SectionedFileStorage("testSectionedMissing");
+        Files.deleteIfExists(storage.getPath());
+        assertTrue(storage.save(SettingUtils.getSettingsFromObject(OtherSettings.class)));
+        intSetting.setInteger(11);
+        assertFalse(storage.load(SettingUtils.getSettingsFromObject(this)));
+        assertEquals(1, (int) intSetting.getInt());
+    }
+
+    @Test
+    public void saveDifferentClassesConcurrently() throws Exception
+    {
+        SectionedFileStorage storage = new SectionedFileStorage("testSectionedConcurrent", FsyncPolicy.NEVER);
+        Files.deleteIfExists(storage.getPath());
+        List<Setting> settings = SettingUtils.getSettingsFromObject(this);
+        List<Setting> other = SettingUtils.getSettingsFromObject(OtherSettings.class);
+        Thread thread = new Thread(() ->
+        {
+            for (int i = 1; i <= 100; i++)
+            {
+                OtherSettings.otherSetting.setInteger(i);
+                storage.save(other);
+            }
+        });
+        thread.start();
+        for (int i = 1; i <= 100; i++)
+        {
+            intSetting.setInteger(i);
+            assertTrue(storage.save(settings));
+        }
+        thread.join();
+        intSetting.setInteger(0);
+        OtherSettings.otherSetting.setInteger(0);
+
+        SectionedFileStorage loading = new SectionedFileStorage("testSectionedConcurrent");
+        assertTrue(loading.load(settings));
+        assertTrue(loading.load(other));
+        assertEquals(100, (int) intSetting.getInt());
+        assertEquals(100, (int) OtherSettings.otherSetting.getInt());
+    }
+
+    @Test
+    public void loadInvalidSection() throws IOException
+    {
+        SectionedFileStorage storage = new SectionedFileStorage("testSectionedInvalid");
+        Files.deleteIfExists(storage.getPath());
+        List<Setting> settings = new ArrayList<>(SettingUtils.getSettingsFromObject(this));
+        settings.addAll(SettingUtils.getSettingsFromObject(OtherSettings.class));
+        OtherSettings.otherSetting.setInteger(12);
+        assertTrue(storage.save(settings));
+        String file = new String(Files.readAllBytes(storage.getPath()), StandardCharsets.UTF_8);
+        Files.write(storage.getPath(), file.replaceAll("intSetting\\s*=.*", "intSetting=oops").getBytes(StandardCharsets.UTF_8));
+        OtherSettings.otherSetting.setInteger(0);
+
+        assertFalse(storage.load(settings));
+        assertTrue(SettingClassInfo.getProblemsWithLoading(SectionedFileStorageTest.class.getName()));
+        assertEquals(12, (int) OtherSettings.otherSetting.getInt());
+
+        Files.write(storage.getPath(), file.replaceAll("intSetting\\s*=.*", "intSetting=\\\\u1").getBytes(StandardCharsets.UTF_8));
+        assertFalse(storage.load(settings));
+    }
+
+    public static class OtherSettings
+    {
+        public static final Setting otherSetting = Settings.newSetting(5);
+    }
+}
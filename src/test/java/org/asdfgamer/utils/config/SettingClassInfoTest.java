@@ -0,0 +1,122 @@
+package org.asdfgamer.utils.config;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SettingClassInfoTest
+{
+
+    private static final int THREADS = 8;
+
+    private static final int ITERATIONS = 10_000;
+
+    @Test
+    public void concurrentUpdates() throws Exception
+    {
+        String[] classes = {First.class.getName(), Second.class.getName(), Third.class.getName()};
+        List<Callable<List<Integer>>> tasks = new ArrayList<>();
+        CyclicBarrier start = new CyclicBarrier(THREADS);
+        for (int thread = 0; thread < THREADS; thread++)
+        {
+            tasks.add(() ->
+            {
+                start.await();
+                List<Integer> indices = new ArrayList<>(ITERATIONS);
+                for (int i = 0; i < ITERATIONS; i++)
+                {
+                    String className = classes[i % classes.length];
+                    SettingClassInfo.register(className);
+                    SettingClassInfo.setChanged(className);
+                    if (className.equals(classes[0]))
+                    {
+                        indices.add(SettingClassInfo.nextSettingIndex(className));
+                    }
+                    for (String knownClass : SettingClassInfo.getClasses())
+                    {
+                        SettingClassInfo.getChanges(knownClass);
+                    }
+                }
+                return indices;
+            });
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        BitSet indices = new BitSet();
+        int created = 0;
+        try
+        {
+            for (Future<List<Integer>> result : executor.invokeAll(tasks))
+            {
+                for (int index : result.get())
+                {
+                    indices.set(index);
+                    created++;
+                }
+            }
+        } finally
+        {
+            executor.shutdown();
+        }
+
+        for (int i = 0; i < classes.length; i++)
+        {
+            int perThread = (ITERATIONS - i + classes.length - 1) / classes.length;
+            assertEquals(THREADS * perThread, SettingClassInfo.getRegisteredSettings(classes[i]));
+            assertTrue(SettingClassInfo.isChanged(classes[i]));
+        }
+        assertEquals(SettingClassInfo.getRegisteredSettings(classes[0]), SettingClassInfo.getChanges(classes[0]));
+        assertEquals(created, SettingClassInfo.getChanges(classes[0]));
+        assertEquals(created, indices.cardinality());
+        assertEquals(created, indices.nextClearBit(0));
+    }
+
+    @Test
+    public void concurrentSettingCreation() throws Exception
+    {
+        List<Callable<Setting>> tasks = new ArrayList<>();
+        CyclicBarrier start = new CyclicBarrier(THREADS);
+        for (int thread = 0; thread < THREADS; thread++)
+        {
+            int value = thread;
+            tasks.add(() ->
+            {
+                start.await();
+                return Settings.newSetting(Fourth.class, value);
+            });
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try
+        {
+            for (Future<Setting> result : executor.invokeAll(tasks))
+            {
+                assertEquals(Fourth.class.getName(), result.get().getClassName());
+            }
+        } finally
+        {
+            executor.shutdown();
+        }
+        assertEquals(THREADS, SettingClassInfo.getRegisteredSettings(Fourth.class.getName()));
+    }
+
+    private static class First
+    {
+    }
+
+    private static class Second
+    {
+    }
+
+    private static class Third
+    {
+    }
+
+    private static class Fourth
+    {
+    }
+}
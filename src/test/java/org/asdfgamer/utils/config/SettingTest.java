@@ -0,0 +1,130 @@
+package org.asdfgamer.utils.config;
+
+import org.junit.Test;
+
+import java.lang.annotation.ElementType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SettingTest
+{
+
+    private static final int THREADS = 4;
+
+    private static final int ITERATIONS = 10_000;
+
+    @Test
+    public void typedListeners()
+    {
+        Setting intSetting = Settings.newSetting(SettingTest.class, 1, 2);
+        Setting doubleSetting = Settings.newSetting(SettingTest.class, 1.5);
+        Setting booleanSetting = Settings.newSetting(SettingTest.class, true);
+        Setting enumSetting = Settings.newSetting(SettingTest.class, ElementType.FIELD);
+        List<String> events = new ArrayList<>();
+        intSetting.addIntListener((setting, index, oldValue, newValue) -> events.add(index + ":" + oldValue + "->" + newValue));
+        doubleSetting.addDoubleListener((setting, index, oldValue, newValue) -> events.add(oldValue + "->" + newValue));
+        booleanSetting.addBooleanListener((setting, index, oldValue, newValue) -> events.add(oldValue + "->" + newValue));
+        enumSetting.addEnumListener(ElementType.class, (setting, index, oldValue, newValue) -> events.add(oldValue.name() + "->" + newValue.name()));
+
+        intSetting.setInteger(5, 1);
+        intSetting.setInteger(5, 1);
+        intSetting.set("7");
+        doubleSetting.setDouble(2.5);
+        booleanSetting.setBoolean(false);
+        enumSetting.set(ElementType.METHOD);
+        assertEquals(Arrays.asList("1:2->5", "0:1->7", "1.5->2.5", "true->false", "FIELD->METHOD"), events);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void typedListenerOfWrongType()
+    {
+        Settings.newSetting(SettingTest.class, "text").addIntListener((setting, index, oldValue, newValue) ->
+        {
+        });
+    }
+
+    @Test
+    public void concurrentWritesOnDifferentIndices() throws Exception
+    {
+        Setting setting = Settings.newSetting(SettingTest.class, 0, 0, 0, 0);
+        List<Callable<Void>> tasks = new ArrayList<>();
+        CyclicBarrier start = new CyclicBarrier(THREADS);
+        for (int thread = 0; thread < THREADS; thread++)
+        {
+            int index = thread;
+            tasks.add(() ->
+            {
+                start.await();
+                for (int i = 1; i <= ITERATIONS; i++)
+                {
+                    setting.setInteger(i, index);
+                }
+                return null;
+            });
+        }
+        run(tasks);
+        for (int index = 0; index < THREADS; index++)
+        {
+            assertEquals(ITERATIONS, (int) setting.getInt(index));
+            assertEquals(String.valueOf(ITERATIONS), setting.getString(index));
+        }
+    }
+
+    @Test
+    public void readersSeeCompleteValues() throws Exception
+    {
+        Setting setting = Settings.newSetting(SettingTest.class, "0");
+        List<Callable<Void>> tasks = new ArrayList<>();
+        CyclicBarrier start = new CyclicBarrier(THREADS);
+        tasks.add(() ->
+        {
+            start.await();
+            for (int i = 1; i < ITERATIONS; i++)
+            {
+                setting.addString(String.valueOf(i));
+            }
+            return null;
+        });
+        for (int thread = 1; thread < THREADS; thread++)
+        {
+            tasks.add(() ->
+            {
+                start.await();
+                int lastLength = 0;
+                while (lastLength < ITERATIONS)
+                {
+                    List<String> values = setting.getStrings();
+                    assertTrue(values.size() >= lastLength);
+                    for (int i = 0; i < values.size(); i++)
+                    {
+                        assertEquals(String.valueOf(i), values.get(i));
+                    }
+                    lastLength = values.size();
+                }
+                return null;
+            });
+        }
+        run(tasks);
+        assertEquals(ITERATIONS, setting.getLength());
+    }
+
+    private static void run(List<Callable<Void>> tasks) throws Exception
+    {
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        try
+        {
+            for (Future<Void> result : executor.invokeAll(tasks))
+            {
+                result.get();
+            }
+        } finally
+        {
+            executor.shutdown();
+        }
+    }
+}
@@ -3,6 +3,10 @@ package org.asdfgamer.utils.config;
 import org.junit.Test;
 
 import java.lang.annotation.ElementType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 import static org.asdfgamer.utils.config.TestEnum.*;
 import static org.junit.Assert.*;
@@ -303,5 +307,41 @@ public class SettingsTest
         assertEquals(-5, testIntAnnotation.get().getMinimum(),DELTA);
     }
 
+    @Test
+    public void SettingWithOwner()
+    {
+        Setting setting = Settings.newSetting(TestEnum.class, 42);
+        assertEquals(TestEnum.class.getName(), setting.getClassName());
+        assertEquals(42, (int) setting.getInt());
+        assertTrue(SettingClassInfo.getClasses().contains(TestEnum.class.getName()));
+        assertEquals(SettingsTest.class.getName(), Settings.newSetting("stack").getClassName());
+    }
+
+    @Test
+    public void ListListenerAndTypedValues()
+    {
+        Setting setting = Settings.newSetting(SettingsTest.class, 1, 2);
+        List<String> added = new ArrayList<>();
+        setting.addListener((changed, index, oldValue, newValue) -> added.add(newValue), true);
+        assertTrue(setting.addInteger(3));
+        setting.set("4", 0);
+        assertEquals(Arrays.asList("3", "4"), added);
+        assertEquals(3, setting.getLength());
+        assertEquals(4, (int) setting.getInt());
+        assertEquals(3.0, setting.getDouble(2), DELTA);
+        assertNull(setting.getBoolean());
+        assertNull(setting.getInt(3));
+    }
 
-}
\ No newline at end of file
+    @Test
+    public void ChangeListenerAddedLater()
+    {
+        Setting setting = Settings.newSetting(SettingsTest.class, "first");
+        setting.set("second");
+        assertTrue(setting.getSettingChanged());
+        List<String> oldValues = new ArrayList<>();
+        setting.addListener((changed, index, oldValue, newValue) -> oldValues.add(oldValue));
+        setting.set("third");
+        assertEquals(Collections.singletonList("second"), oldValues);
+    }
+}
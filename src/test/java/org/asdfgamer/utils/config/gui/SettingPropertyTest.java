@@ -0,0 +1,43 @@
+package org.asdfgamer.utils.config.gui;
+
+import javafx.beans.property.SimpleStringProperty;
+import org.asdfgamer.utils.config.Setting;
+import org.asdfgamer.utils.config.Settings;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class SettingPropertyTest
+{
+
+    @Test
+    public void SettingToProperty()
+    {
+        Setting setting = Settings.newSetting(SettingPropertyTest.class, "first");
+        SettingProperty property = new SettingProperty(setting);
+        assertEquals("first", property.get());
+        setting.set("second");
+        assertEquals("second", property.get());
+        property.dispose();
+        setting.set("third");
+        assertEquals("second", property.get());
+    }
+
+    @Test
+    public void PropertyToSetting()
+    {
+        Setting setting = Settings.newSetting(SettingPropertyTest.class, 1, 2);
+        SettingProperty property = new SettingProperty(setting, 1);
+        property.set("5");
+        assertEquals(5, (int) setting.getInt(1));
+        property.set("five");
+        assertEquals("5", property.get());
+        assertEquals(5, (int) setting.getInt(1));
+
+        SimpleStringProperty source = new SimpleStringProperty("7");
+        property.bind(source);
+        assertEquals(7, (int) setting.getInt(1));
+        source.set("8");
+        assertEquals(8, (int) setting.getInt(1));
+    }
+}
@@ -0,0 +1,92 @@
+package org.asdfgamer.utils.other;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ConvertibleTest
+{
+
+    /**
+     * This are Strings that are checked against the parse methods of the JDK.
+     */
+    private static final String[] VALUES = {"0", "1", "-1", "+1", "007", "-", "+", "", " 1", "1 ", "1.5", ".5", "5.",
+            ".", "1e5", "1E-5", "1e", "1e+", "-1.5e+10d", "1f", "1D", "1x", "NaN", "-NaN", "+Infinity", "-Infinity",
+            "Infinity1", "nan", "0x1p3", "0x1.8p3", "0X.8P-1f", "0x1.8", "0xp3", "0x", " 2.5 ", "\t3\n", "2147483647",
+            "2147483648", "-2147483648", "-2147483649", "9223372036854775807", "9223372036854775808",
+            "-9223372036854775808", "-9223372036854775809", "١٢", "1_000", "true", "Hallo", "1.2.3", "--1",
+            "+-1", "1e5.5", "12345678901234567890", "0.1e-400", "1e400"};
+
+    @Test
+    public void tryParseInt()
+    {
+        ParseResult result = new ParseResult();
+        for (String value : VALUES)
+        {
+            Integer expected = null;
+            try
+            {
+                expected = Integer.parseInt(value);
+            } catch (NumberFormatException ignored)
+            {
+            }
+            assertEquals(value, expected != null, Convertible.tryParseInt(value, result));
+            assertEquals(value, expected != null, Convertible.toInt(value));
+            if (expected != null)
+            {
+                assertEquals(value, (int) expected, result.getInt());
+            }
+        }
+        assertFalse(Convertible.tryParseInt(null, result));
+        assertFalse(result.isSuccess());
+    }
+
+    @Test
+    public void tryParseLong()
+    {
+        ParseResult result = new ParseResult();
+        for (String value : VALUES)
+        {
+            Long expected = null;
+            try
+            {
+                expected = Long.parseLong(value);
+            } catch (NumberFormatException ignored)
+            {
+            }
+            assertEquals(value, expected != null, Convertible.tryParseLong(value, result));
+            if (expected != null)
+            {
+                assertEquals(value, (long) expected, result.getLong());
+            }
+        }
+        assertTrue(Convertible.toShort("-32768"));
+        assertFalse(Convertible.toShort("32768"));
+        assertTrue(Convertible.toByte("127"));
+        assertFalse(Convertible.toByte("-129"));
+    }
+
+    @Test
+    public void tryParseDouble()
+    {
+        ParseResult result = new ParseResult();
+        for (String value : VALUES)
+        {
+            Double expected = null;
+            try
+            {
+                expected = Double.parseDouble(value);
+            } catch (NumberFormatException ignored)
+            {
+            }
+            assertEquals(value, expected != null, Convertible.tryParseDouble(value, result));
+            assertEquals(value, expected != null, Convertible.toDouble(value));
+            assertEquals(value, expected != null, Convertible.toFloat(value));
+            if (expected != null)
+            {
+                assertEquals(value, expected, result.getDouble(), 0);
+            }
+        }
+        assertFalse(Convertible.tryParseDouble(null, result));
+    }
+}
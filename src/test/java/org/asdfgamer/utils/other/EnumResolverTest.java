@@ -0,0 +1,24 @@
+package org.asdfgamer.utils.other;
+
+import org.junit.Test;
+
+import java.lang.annotation.ElementType;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class EnumResolverTest
+{
+
+    @Test
+    public void limitCachedNames()
+    {
+        for (int i = 0; i < 10 * EnumResolver.MAX_CACHED_NAMES; i++)
+        {
+            assertFalse(EnumResolver.isEnum("host" + i + ".example.org", true));
+        }
+        assertTrue(EnumResolver.getCachedNames() <= 2 * EnumResolver.MAX_CACHED_NAMES);
+        assertEquals(ElementType.FIELD, EnumResolver.getEnumElement("java.lang.annotation.ElementType.FIELD"));
+    }
+}